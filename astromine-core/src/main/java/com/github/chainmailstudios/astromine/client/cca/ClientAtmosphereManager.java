@@ -24,62 +24,108 @@
 
 package com.github.chainmailstudios.astromine.client.cca;
 
-import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.registry.Registry;
 
 import com.github.chainmailstudios.astromine.AstromineCommon;
+import com.github.chainmailstudios.astromine.common.component.world.AtmosphereSection;
+import com.github.chainmailstudios.astromine.common.component.world.ChunkAtmosphereComponent;
 import com.github.chainmailstudios.astromine.common.volume.fluid.FluidVolume;
+import com.github.chainmailstudios.astromine.common.volume.fraction.Fraction;
 import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortCollection;
 
 public class ClientAtmosphereManager {
-	public static final Identifier GAS_ADDED = AstromineCommon.identifier("gas_added");
-	public static final Identifier GAS_REMOVED = AstromineCommon.identifier("gas_removed");
-	public static final Identifier GAS_ERASED = AstromineCommon.identifier("gas_erased");
-	private static final Long2ObjectMap<FluidVolume> VOLUMES = new Long2ObjectOpenHashMap<>();
+	public static final Identifier GAS_UPDATED = AstromineCommon.identifier("gas_updated");
 
-	public static Long2ObjectMap<FluidVolume> getVolumes() {
+	/** The amount of fixed-point units per synchronized unit of gas, a 1024th of a bucket. */
+	private static final int QUANTUM = AtmosphereSection.UNIT / 1024;
+
+	/** The gas of every tracked chunk, by packed {@link ChunkPos} and then by packed {@link BlockPos}. */
+	private static final Long2ObjectMap<Long2ObjectMap<FluidVolume>> VOLUMES = new Long2ObjectOpenHashMap<>();
+
+	public static Long2ObjectMap<Long2ObjectMap<FluidVolume>> getVolumes() {
 		return VOLUMES;
 	}
 
-	public static PacketByteBuf ofGasErased() {
-		return new PacketByteBuf(Unpooled.buffer());
-	}
+	/**
+	 * Encodes the current state of the given cells of a chunk, each as its packed section and index, its amount in
+	 * 1024ths of a bucket and, if it is not empty, its fluid's raw id.
+	 */
+	public static PacketByteBuf ofGasUpdated(ChunkAtmosphereComponent component, ShortCollection cells) {
+		ChunkPos chunkPos = component.getChunk().getPos();
 
-	public static PacketByteBuf ofGasAdded(BlockPos gasPosition, FluidVolume gasVolume) {
-		CompoundTag gasPayload = new CompoundTag();
-		gasPayload.putLong("gasPosition", gasPosition.asLong());
-		gasPayload.put("gasVolume", gasVolume.toTag());
 		PacketByteBuf gasBuffer = new PacketByteBuf(Unpooled.buffer());
-		gasBuffer.writeCompoundTag(gasPayload);
-		return gasBuffer;
-	}
+		gasBuffer.writeInt(chunkPos.x);
+		gasBuffer.writeInt(chunkPos.z);
+		gasBuffer.writeVarInt(cells.size());
+
+		for (short cell : cells) {
+			AtmosphereSection section = component.getSection((cell & 0xFFFF) >> 12);
+
+			int index = cell & 0xFFF;
+			int amount = section == null ? 0 : section.getAmount(index);
+			int quantized = amount <= 0 ? 0 : Math.max(1, amount / QUANTUM);
+
+			gasBuffer.writeShort(cell);
+			gasBuffer.writeVarInt(quantized);
+
+			if (quantized > 0) {
+				gasBuffer.writeVarInt(section.getRawFluid(index));
+			}
+		}
 
-	public static PacketByteBuf ofGasRemoved(BlockPos gasPosition) {
-		CompoundTag gasPayload = new CompoundTag();
-		gasPayload.putLong("gasPosition", gasPosition.asLong());
-		PacketByteBuf gasBuffer = new PacketByteBuf(Unpooled.buffer());
-		gasBuffer.writeCompoundTag(gasPayload);
 		return gasBuffer;
 	}
 
-	public static void onGasErased(PacketByteBuf gasBuffer) {
-		VOLUMES.clear();
+	public static void onGasUpdated(PacketByteBuf gasBuffer) {
+		int chunkX = gasBuffer.readInt();
+		int chunkZ = gasBuffer.readInt();
+		int size = gasBuffer.readVarInt();
+
+		int startX = chunkX << 4;
+		int startZ = chunkZ << 4;
+
+		long chunk = ChunkPos.toLong(chunkX, chunkZ);
+		Long2ObjectMap<FluidVolume> volumes = VOLUMES.get(chunk);
+
+		for (int i = 0; i < size; ++i) {
+			int cell = gasBuffer.readShort() & 0xFFFF;
+			int quantized = gasBuffer.readVarInt();
+
+			int index = cell & 0xFFF;
+			long gasPosition = BlockPos.asLong(startX + AtmosphereSection.x(index), ((cell >> 12) << 4) + AtmosphereSection.y(index), startZ + AtmosphereSection.z(index));
+
+			if (quantized > 0) {
+				if (volumes == null) {
+					volumes = new Long2ObjectOpenHashMap<>();
+					VOLUMES.put(chunk, volumes);
+				}
+
+				volumes.put(gasPosition, FluidVolume.of(Fraction.of(quantized, 1024), Registry.FLUID.get(gasBuffer.readVarInt())));
+			} else if (volumes != null) {
+				volumes.remove(gasPosition);
+			}
+		}
+
+		if (volumes != null && volumes.isEmpty()) {
+			VOLUMES.remove(chunk);
+		}
 	}
 
-	public static void onGasAdded(PacketByteBuf gasBuffer) {
-		CompoundTag gasPayload = gasBuffer.readCompoundTag();
-		long gasPosition = gasPayload.getLong("gasPosition");
-		FluidVolume gasVolume = FluidVolume.fromTag(gasPayload.getCompound("gasVolume"));
-		VOLUMES.put(gasPosition, gasVolume);
+	/**
+	 * Drops the gas of a chunk which the client stopped tracking.
+	 */
+	public static void onChunkUnloaded(int chunkX, int chunkZ) {
+		VOLUMES.remove(ChunkPos.toLong(chunkX, chunkZ));
 	}
 
-	public static void onGasRemoved(PacketByteBuf gasBuffer) {
-		CompoundTag gasPayload = gasBuffer.readCompoundTag();
-		long gasPosition = gasPayload.getLong("gasPosition");
-		VOLUMES.remove(gasPosition);
+	public static void onWorldChanged() {
+		VOLUMES.clear();
 	}
 }
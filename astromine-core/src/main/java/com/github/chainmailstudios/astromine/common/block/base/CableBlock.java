@@ -44,7 +44,6 @@ import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.world.BlockView;
 import net.minecraft.world.World;
 
-import com.github.chainmailstudios.astromine.common.component.world.WorldNetworkComponent;
 import com.github.chainmailstudios.astromine.common.network.NetworkMember;
 import com.github.chainmailstudios.astromine.common.network.NetworkTracer;
 import com.github.chainmailstudios.astromine.common.network.type.base.NetworkType;
@@ -112,7 +111,7 @@ public abstract class CableBlock extends Block implements Waterloggable, CableWr
 	public void onPlaced(World world, BlockPos position, BlockState stateA, LivingEntity placer, ItemStack stack) {
 		super.onPlaced(world, position, stateA, placer, stack);
 
-		NetworkTracer.Tracer.INSTANCE.trace(getNetworkType(), WorldPos.of(world, position));
+		NetworkTracer.Updater.INSTANCE.addNode(getNetworkType(), WorldPos.of(world, position));
 
 		NetworkTracer.Modeller modeller = new NetworkTracer.Modeller();
 		modeller.scanNeighbours(getNetworkType(), position, world);
@@ -143,9 +142,7 @@ public abstract class CableBlock extends Block implements Waterloggable, CableWr
 		if (state.getBlock() == newState.getBlock())
 			return;
 
-		WorldNetworkComponent networkComponent = WorldNetworkComponent.get(world);
-
-		networkComponent.removeInstance(networkComponent.getInstance(getNetworkType(), position));
+		NetworkTracer.Updater.INSTANCE.removeNode(getNetworkType(), WorldPos.of(world, position));
 
 		for (Direction directionA : Direction.values()) {
 			BlockPos offsetPos = position.offset(directionA);
@@ -156,8 +153,6 @@ public abstract class CableBlock extends Block implements Waterloggable, CableWr
 			if (((CableBlock) offsetBlock).getNetworkType() != getNetworkType())
 				continue;
 
-			NetworkTracer.Tracer.INSTANCE.trace(getNetworkType(), WorldPos.of(world, offsetPos));
-
 			NetworkTracer.Modeller modeller = new NetworkTracer.Modeller();
 			modeller.scanNeighbours(getNetworkType(), offsetPos, world);
 
@@ -169,10 +164,7 @@ public abstract class CableBlock extends Block implements Waterloggable, CableWr
 	public void neighborUpdate(BlockState state, World world, BlockPos position, Block block, BlockPos neighborPosition, boolean moved) {
 		super.neighborUpdate(state, world, position, block, neighborPosition, moved);
 
-		WorldNetworkComponent networkComponent = WorldNetworkComponent.get(world);
-
-		networkComponent.removeInstance(networkComponent.getInstance(getNetworkType(), position));
-		NetworkTracer.Tracer.INSTANCE.trace(getNetworkType(), WorldPos.of(world, position));
+		NetworkTracer.Updater.INSTANCE.updateNeighbour(getNetworkType(), WorldPos.of(world, position), neighborPosition);
 
 		NetworkTracer.Modeller modeller = new NetworkTracer.Modeller();
 		modeller.scanNeighbours(getNetworkType(), position, world);
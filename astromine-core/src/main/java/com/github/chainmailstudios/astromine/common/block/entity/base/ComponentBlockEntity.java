@@ -51,6 +51,7 @@ import com.github.chainmailstudios.astromine.AstromineCommon;
 import com.github.chainmailstudios.astromine.common.block.base.BlockWithEntity;
 import com.github.chainmailstudios.astromine.common.block.transfer.TransferType;
 import com.github.chainmailstudios.astromine.common.component.block.entity.BlockEntityTransferComponent;
+import com.github.chainmailstudios.astromine.common.component.world.WorldNetworkComponent;
 import com.github.chainmailstudios.astromine.common.packet.PacketConsumer;
 import com.github.chainmailstudios.astromine.registry.AstromineComponents;
 import org.jetbrains.annotations.NotNull;
@@ -89,6 +90,12 @@ public abstract class ComponentBlockEntity extends BlockEntity implements Packet
 			getTransferComponent().get(ComponentRegistry.get(packetIdentifier)).set(packetDirection, packetTransferType);
 			markDirty();
 			sync();
+
+			WorldNetworkComponent networkComponent = WorldNetworkComponent.get(world);
+
+			if (networkComponent != null) {
+				networkComponent.invalidatePlans(getPos());
+			}
 		}));
 	}
 
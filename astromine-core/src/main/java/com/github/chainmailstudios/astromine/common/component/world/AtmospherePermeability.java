@@ -0,0 +1,121 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.common.component.world;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.EmptyBlockView;
+
+import com.github.chainmailstudios.astromine.common.block.base.AtmosphereSealingBlock;
+
+/**
+ * Caches, for every {@link BlockState}, the faces through which gas may leave or enter it, so that propagation does
+ * not have to query shapes for every neighbour of every cell on every step.
+ *
+ * Masks are computed the first time a state is queried, from its position-independent shapes, and dropped whenever
+ * data is reloaded. Lookups are safe from any thread.
+ */
+public final class AtmospherePermeability {
+	private static final int COMPUTED = 1 << 12;
+
+	private static volatile int[] masks = new int[0];
+
+	private AtmospherePermeability() {}
+
+	/**
+	 * Returns whether gas may flow from a cell holding the given center state into its neighbour in the given
+	 * direction, holding the given side state.
+	 */
+	public static boolean canPropagate(BlockState centerState, BlockState sideState, Direction direction) {
+		return (getMask(centerState) & (1 << direction.getId())) != 0 && (getMask(sideState) & (1 << (6 + direction.getOpposite().getId()))) != 0;
+	}
+
+	/**
+	 * Returns the permeability of the given state: the lower six bits are the faces gas may leave it through, the
+	 * next six bits the faces gas may enter it through, both indexed by {@link Direction#getId()}.
+	 */
+	public static int getMask(BlockState state) {
+		int id = Block.STATE_IDS.getRawId(state);
+
+		if (id < 0)
+			return compute(state);
+
+		int[] masks = AtmospherePermeability.masks;
+
+		if (id >= masks.length) {
+			masks = grow(id);
+		}
+
+		int mask = masks[id];
+
+		if ((mask & COMPUTED) == 0) {
+			mask = masks[id] = compute(state) | COMPUTED;
+		}
+
+		return mask & ~COMPUTED;
+	}
+
+	/**
+	 * Drops every cached mask, after tags or block shapes may have changed.
+	 */
+	public static synchronized void invalidate() {
+		masks = new int[Block.STATE_IDS.size()];
+	}
+
+	private static synchronized int[] grow(int id) {
+		int[] masks = AtmospherePermeability.masks;
+
+		if (id >= masks.length) {
+			int[] grown = new int[Math.max(id + 1, Block.STATE_IDS.size())];
+			System.arraycopy(masks, 0, grown, 0, masks.length);
+			AtmospherePermeability.masks = masks = grown;
+		}
+
+		return masks;
+	}
+
+	private static int compute(BlockState state) {
+		int mask = 0;
+
+		boolean air = state.isAir();
+		boolean sealed = !air && (state.isOpaqueFullCube(EmptyBlockView.INSTANCE, BlockPos.ORIGIN) || (state.getBlock() instanceof AtmosphereSealingBlock && ((AtmosphereSealingBlock) state.getBlock()).isSealing(state)));
+
+		for (Direction direction : Direction.values()) {
+			boolean open = air || !state.isSideSolidFullSquare(EmptyBlockView.INSTANCE, BlockPos.ORIGIN, direction);
+
+			if (open) {
+				mask |= 1 << direction.getId();
+
+				if (!sealed) {
+					mask |= 1 << (6 + direction.getId());
+				}
+			}
+		}
+
+		return mask;
+	}
+}
@@ -0,0 +1,342 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.common.component.world;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import com.github.chainmailstudios.astromine.registry.AstromineConfig;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A sealed region of the atmosphere, whose gas is held as a single reservoir of uniform pressure instead of being
+ * diffused cell by cell.
+ *
+ * Its cells are excluded from per-cell simulation, and reading one through {@link ChunkAtmosphereComponent} returns
+ * the reservoir's pressure. The reservoir is only written out to its cells when they are saved, when one of them is
+ * set directly, when the room dissolves, and at most every {@link #FLUSH_INTERVAL} ticks for clients. Once a block in
+ * or around it changes, or one of its chunks unloads, the room dissolves and its cells fall back to per-cell
+ * simulation, until it is detected again.
+ */
+public class AtmosphereRoom {
+	/** The minimum amount of ticks between two writes of a changed reservoir to the cells, for clients. */
+	public static final int FLUSH_INTERVAL = 100;
+
+	private static final Direction[] DIRECTIONS = Direction.values();
+
+	private final World world;
+
+	private final LongSet cells;
+
+	private final Long2ObjectMap<ChunkAtmosphereComponent> components;
+
+	private int fluid;
+	private long amount;
+
+	private long lastFlush = -FLUSH_INTERVAL;
+
+	private boolean dirty = false;
+	private boolean valid = true;
+
+	private AtmosphereRoom(World world, LongSet cells, Long2ObjectMap<ChunkAtmosphereComponent> components, int fluid, long amount) {
+		this.world = world;
+		this.cells = cells;
+		this.components = components;
+		this.fluid = fluid;
+		this.amount = amount;
+	}
+
+	/**
+	 * Flood-fills the region gas can reach from the given position and makes it a room, or returns the room the
+	 * position already belongs to. Returns null if the region is larger than {@code maxRoomVolume} cells, leaves
+	 * the world or loaded chunks, or holds more than one fluid. Must be called on the server thread.
+	 */
+	@Nullable
+	public static AtmosphereRoom detect(World world, BlockPos origin) {
+		WorldChunk originChunk = world.getChunkManager().getWorldChunk(origin.getX() >> 4, origin.getZ() >> 4, false);
+
+		if (originChunk == null || origin.getY() < 0 || origin.getY() >= 256)
+			return null;
+
+		ChunkAtmosphereComponent originComponent = ChunkAtmosphereComponent.get(originChunk);
+
+		if (originComponent == null)
+			return null;
+
+		AtmosphereRoom existing = originComponent.getRoom(origin);
+
+		if (existing != null)
+			return existing;
+
+		int limit = Math.max(1, AstromineConfig.get().maxRoomVolume);
+
+		LongSet cells = new LongOpenHashSet();
+		LongArrayFIFOQueue queue = new LongArrayFIFOQueue();
+
+		Long2ObjectMap<ChunkAtmosphereComponent> components = new Long2ObjectOpenHashMap<>();
+
+		cells.add(origin.asLong());
+		queue.enqueue(origin.asLong());
+
+		int fluid = 0;
+		long amount = 0L;
+
+		BlockPos.Mutable position = new BlockPos.Mutable();
+		BlockPos.Mutable sidePos = new BlockPos.Mutable();
+
+		while (!queue.isEmpty()) {
+			position.set(queue.dequeueLong());
+
+			WorldChunk chunk = world.getChunkManager().getWorldChunk(position.getX() >> 4, position.getZ() >> 4, false);
+			ChunkAtmosphereComponent component = chunk == null ? null : ChunkAtmosphereComponent.get(chunk);
+
+			if (component == null || component.getRoom(position) != null)
+				return null;
+
+			components.put(ChunkPos.toLong(position.getX() >> 4, position.getZ() >> 4), component);
+
+			int cellAmount = component.getAmount(position);
+
+			if (cellAmount > 0) {
+				int cellFluid = component.getRawFluid(position);
+
+				if (amount > 0L && cellFluid != fluid)
+					return null;
+
+				fluid = cellFluid;
+				amount += cellAmount;
+			}
+
+			BlockState state = chunk.getBlockState(position);
+
+			for (Direction direction : DIRECTIONS) {
+				sidePos.set(position, direction);
+
+				if (cells.contains(sidePos.asLong()))
+					continue;
+
+				if (sidePos.getY() < 0 || sidePos.getY() >= 256 || !world.getChunkManager().isChunkLoaded(sidePos.getX() >> 4, sidePos.getZ() >> 4))
+					return null;
+
+				if (AtmospherePermeability.canPropagate(state, world.getBlockState(sidePos), direction)) {
+					if (cells.size() >= limit)
+						return null;
+
+					cells.add(sidePos.asLong());
+					queue.enqueue(sidePos.asLong());
+				}
+			}
+		}
+
+		AtmosphereRoom room = new AtmosphereRoom(world, cells, components, fluid, amount);
+
+		room.forEachComponent((component, position) -> component.joinRoom(position, room));
+		room.markDirty();
+
+		return room;
+	}
+
+	public World getWorld() {
+		return world;
+	}
+
+	public LongSet getCells() {
+		return cells;
+	}
+
+	public int size() {
+		return cells.size();
+	}
+
+	public int getRawFluid() {
+		return fluid;
+	}
+
+	public long getAmount() {
+		return amount;
+	}
+
+	/**
+	 * Returns the amount of gas held by each of this room's cells, in {@link AtmosphereSection} units.
+	 */
+	public int getPressure() {
+		return cells.isEmpty() ? 0 : (int) Math.min(AtmosphereSection.CAPACITY, amount / cells.size());
+	}
+
+	public boolean isValid() {
+		return valid;
+	}
+
+	public boolean accepts(int fluid) {
+		return valid && (amount <= 0L || this.fluid == fluid);
+	}
+
+	/**
+	 * Adds up to the given amount of gas to this room's reservoir.
+	 *
+	 * @return the amount which was added.
+	 */
+	public int insert(int fluid, int amount) {
+		if (amount <= 0 || !accepts(fluid))
+			return 0;
+
+		int inserted = (int) Math.min(amount, (long) AtmosphereSection.CAPACITY * cells.size() - this.amount);
+
+		if (inserted <= 0)
+			return 0;
+
+		this.fluid = fluid;
+		this.amount += inserted;
+
+		markDirty();
+
+		return inserted;
+	}
+
+	/**
+	 * Accounts for a cell of this room having been set directly, rather than through the reservoir; the reservoir
+	 * must have been flushed beforehand, so that the previous amount is the cell's share. A cell set to a different
+	 * fluid than the rest of the room is left out of it, and the room dissolves.
+	 */
+	void onCellChanged(long position, int previousAmount, int fluid, int amount) {
+		if (!valid)
+			return;
+
+		if (amount > 0 && this.amount - previousAmount > 0L && this.fluid != fluid) {
+			this.amount -= previousAmount;
+			cells.remove(position);
+
+			markDirty();
+			dissolve();
+			return;
+		}
+
+		if (amount > 0) {
+			this.fluid = fluid;
+		}
+
+		this.amount = Math.max(0L, this.amount - previousAmount + amount);
+
+		markDirty();
+	}
+
+	/**
+	 * Invalidates the values cached from the atmosphere of this room's chunks, and schedules the reservoir to be
+	 * written out to the cells for clients.
+	 */
+	private void markDirty() {
+		for (ChunkAtmosphereComponent component : components.values()) {
+			component.onRoomChanged();
+		}
+
+		if (!dirty) {
+			dirty = true;
+
+			AtmosphereScheduler.INSTANCE.scheduleRoom(this);
+		}
+	}
+
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * Returns whether the reservoir changed and was not written out to the cells during the last
+	 * {@link #FLUSH_INTERVAL} ticks.
+	 */
+	public boolean isFlushDue() {
+		return dirty && world.getTime() - lastFlush >= FLUSH_INTERVAL;
+	}
+
+	/**
+	 * Spreads the reservoir evenly over this room's cells, if it changed since the last call.
+	 */
+	public void flush() {
+		if (!dirty || !valid)
+			return;
+
+		dirty = false;
+		lastFlush = world.getTime();
+
+		int size = cells.size();
+
+		if (size == 0)
+			return;
+
+		long share = amount / size;
+		long remainder = amount % size;
+
+		int[] i = { 0 };
+
+		forEachComponent((component, position) -> {
+			int cellAmount = (int) Math.min(AtmosphereSection.CAPACITY, share + (i[0]++ < remainder ? 1L : 0L));
+
+			component.setRoomCell(position, fluid, cellAmount);
+		});
+	}
+
+	/**
+	 * Returns this room's cells to per-cell simulation, after writing out its reservoir. Rooms are dissolved before
+	 * any of their chunks unloads, so every cell is still reachable.
+	 */
+	public void dissolve() {
+		if (!valid)
+			return;
+
+		flush();
+
+		valid = false;
+
+		forEachComponent((component, position) -> component.leaveRoom(position, this));
+	}
+
+	/**
+	 * Invokes the given consumer with every cell of this room and the atmosphere of the chunk holding it.
+	 */
+	private void forEachComponent(CellConsumer consumer) {
+		BlockPos.Mutable position = new BlockPos.Mutable();
+
+		for (LongIterator iterator = cells.iterator(); iterator.hasNext();) {
+			position.set(iterator.nextLong());
+
+			consumer.accept(components.get(ChunkPos.toLong(position.getX() >> 4, position.getZ() >> 4)), position);
+		}
+	}
+
+	@FunctionalInterface
+	private interface CellConsumer {
+		void accept(ChunkAtmosphereComponent component, BlockPos position);
+	}
+}
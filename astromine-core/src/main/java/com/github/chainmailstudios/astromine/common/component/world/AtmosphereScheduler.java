@@ -0,0 +1,107 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.common.component.world;
+
+import net.minecraft.server.world.ServerWorld;
+
+import com.github.chainmailstudios.astromine.registry.AstromineConfig;
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects the chunks whose atmosphere has to move during a world tick, and steps them all at once at its end: every
+ * chunk's step is computed on the worker pool, then the flux crossing chunk borders is resolved and the results are
+ * applied on the server thread. Rooms whose reservoir changed are
+ * periodically written out beforehand.
+ */
+public final class AtmosphereScheduler {
+	public static final AtmosphereScheduler INSTANCE = new AtmosphereScheduler();
+
+	private final List<ChunkAtmosphereComponent> scheduled = new ArrayList<>();
+
+	private final Set<ChunkAtmosphereComponent> committing = new ReferenceLinkedOpenHashSet<>();
+
+	private final List<AtmosphereRoom> rooms = new ArrayList<>();
+
+	private AtmosphereScheduler() {}
+
+	public void schedule(ChunkAtmosphereComponent component) {
+		scheduled.add(component);
+	}
+
+	/**
+	 * Schedules a room whose reservoir changed to be written out to its cells, once
+	 * {@link AtmosphereRoom#FLUSH_INTERVAL} ticks passed since it last was.
+	 */
+	public void scheduleRoom(AtmosphereRoom room) {
+		rooms.add(room);
+	}
+
+	public void tick(ServerWorld world) {
+		if (!rooms.isEmpty()) {
+			rooms.removeIf((room) -> {
+				if (!room.isValid() || !room.isDirty())
+					return true;
+
+				if (room.getWorld() != world || !room.isFlushDue())
+					return false;
+
+				room.flush();
+				return true;
+			});
+		}
+
+		if (scheduled.isEmpty())
+			return;
+
+		try {
+			for (ChunkAtmosphereComponent component : scheduled) {
+				component.prepareStep();
+			}
+
+			if (AstromineConfig.get().parallelAtmosphereTicking && scheduled.size() > 1) {
+				scheduled.parallelStream().forEach(ChunkAtmosphereComponent::computeStep);
+			} else {
+				scheduled.forEach(ChunkAtmosphereComponent::computeStep);
+			}
+
+			committing.addAll(scheduled);
+
+			for (ChunkAtmosphereComponent component : scheduled) {
+				component.resolveFlux(committing);
+			}
+
+			for (ChunkAtmosphereComponent component : committing) {
+				component.commitStep();
+			}
+		} finally {
+			scheduled.clear();
+			committing.clear();
+		}
+	}
+}
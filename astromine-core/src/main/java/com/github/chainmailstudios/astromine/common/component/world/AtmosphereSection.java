@@ -0,0 +1,374 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.common.component.world;
+
+import net.fabricmc.fabric.api.util.NbtType;
+
+import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.registry.Registry;
+
+import com.github.chainmailstudios.astromine.common.volume.fluid.FluidVolume;
+import com.github.chainmailstudios.astromine.common.volume.fraction.Fraction;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+
+import java.util.Arrays;
+
+/**
+ * The gas stored in a 16x16x16 section of a chunk, as the raw registry id of each cell's fluid and its amount in
+ * fixed-point units of {@link #UNIT} per bucket. Sections are only created once gas enters them.
+ */
+public class AtmosphereSection {
+	public static final int SIZE = 16 * 16 * 16;
+
+	/** Fixed-point units per bucket; divisible by the thirds, eighths, ninths and powers of two used for gases. */
+	public static final int UNIT = 10_368_000;
+
+	/** The capacity of a single cell, matching the size of a detached {@link FluidVolume}. */
+	public static final int CAPACITY = 128 * UNIT;
+
+	private final int[] fluids = new int[SIZE];
+	private final int[] amounts = new int[SIZE];
+
+	private final long[] active = new long[SIZE / 64];
+
+	private int[] nextFluids;
+	private int[] nextAmounts;
+
+	private final long[] touched = new long[SIZE / 64];
+
+	private boolean stepping = false;
+
+	private int count = 0;
+	private int activeCount = 0;
+
+	public static int index(int x, int y, int z) {
+		return (y & 15) << 8 | (z & 15) << 4 | (x & 15);
+	}
+
+	public static int x(int index) {
+		return index & 15;
+	}
+
+	public static int y(int index) {
+		return index >> 8 & 15;
+	}
+
+	public static int z(int index) {
+		return index >> 4 & 15;
+	}
+
+	public static int toFixed(Fraction fraction) {
+		return (int) Math.min(CAPACITY, Math.round(fraction.doubleValue() * UNIT));
+	}
+
+	public static Fraction toFraction(int amount) {
+		return Fraction.of(amount, UNIT).simplify();
+	}
+
+	public int getRawFluid(int index) {
+		return fluids[index];
+	}
+
+	public Fluid getFluid(int index) {
+		return amounts[index] > 0 ? Registry.FLUID.get(fluids[index]) : Fluids.EMPTY;
+	}
+
+	public int getAmount(int index) {
+		return amounts[index];
+	}
+
+	/**
+	 * Sets the gas of a cell; an amount of zero or less empties it.
+	 */
+	public void set(int index, int fluid, int amount) {
+		boolean wasEmpty = amounts[index] <= 0;
+
+		if (amount <= 0) {
+			fluids[index] = 0;
+			amounts[index] = 0;
+
+			deactivate(index);
+
+			if (!wasEmpty) {
+				--count;
+			}
+		} else {
+			fluids[index] = fluid;
+			amounts[index] = Math.min(CAPACITY, amount);
+
+			if (wasEmpty) {
+				++count;
+			}
+		}
+	}
+
+	/**
+	 * Marks a cell holding gas as active, so that it is processed by the next gas tick.
+	 */
+	public void activate(int index) {
+		long bit = 1L << index;
+
+		if (amounts[index] > 0 && (active[index >> 6] & bit) == 0L) {
+			active[index >> 6] |= bit;
+			++activeCount;
+		}
+	}
+
+	/**
+	 * Puts a cell to sleep until it, or one of its neighbours, changes.
+	 */
+	public void deactivate(int index) {
+		long bit = 1L << index;
+
+		if ((active[index >> 6] & bit) != 0L) {
+			active[index >> 6] &= ~bit;
+			--activeCount;
+		}
+	}
+
+	public boolean isActive(int index) {
+		return (active[index >> 6] & 1L << index) != 0L;
+	}
+
+	/**
+	 * Returns the active flags of the 64 cells starting at {@code word * 64}.
+	 */
+	public long getActiveWord(int word) {
+		return active[word];
+	}
+
+	public boolean hasActive() {
+		return activeCount > 0;
+	}
+
+	/**
+	 * Starts a simulation step, copying the current state of every cell into the back buffer, which
+	 * {@link #addNext(int, int, int)} modifies while the current state is only read.
+	 */
+	public void beginStep() {
+		if (stepping)
+			return;
+
+		if (nextFluids == null) {
+			nextFluids = new int[SIZE];
+			nextAmounts = new int[SIZE];
+		}
+
+		System.arraycopy(fluids, 0, nextFluids, 0, SIZE);
+		System.arraycopy(amounts, 0, nextAmounts, 0, SIZE);
+
+		stepping = true;
+	}
+
+	public boolean isStepping() {
+		return stepping;
+	}
+
+	/**
+	 * Adds the given amount of gas to a cell's back buffer, or removes it if negative. Gas cannot be added to a cell
+	 * which will hold a different fluid.
+	 *
+	 * @return whether the amount was added.
+	 */
+	public boolean addNext(int index, int fluid, int amount) {
+		if (amount > 0) {
+			if (nextAmounts[index] > 0 && nextFluids[index] != fluid) {
+				return false;
+			}
+
+			nextFluids[index] = fluid;
+		}
+
+		nextAmounts[index] += amount;
+		touched[index >> 6] |= 1L << index;
+
+		return true;
+	}
+
+	/**
+	 * Returns the flags of the 64 cells starting at {@code word * 64} whose back buffer changed during this step.
+	 */
+	public long getTouchedWord(int word) {
+		return touched[word];
+	}
+
+	public int getNextFluid(int index) {
+		return nextFluids[index];
+	}
+
+	public int getNextAmount(int index) {
+		return nextAmounts[index];
+	}
+
+	/**
+	 * Ends a simulation step; the back buffer is kept for reuse by the next one.
+	 */
+	public void endStep() {
+		Arrays.fill(touched, 0L);
+
+		stepping = false;
+	}
+
+	public FluidVolume getVolume(int index) {
+		if (amounts[index] <= 0)
+			return FluidVolume.empty();
+
+		return FluidVolume.of(toFraction(amounts[index]), Registry.FLUID.get(fluids[index]));
+	}
+
+	public void setVolume(int index, FluidVolume volume) {
+		if (volume.isEmpty()) {
+			set(index, 0, 0);
+		} else {
+			set(index, Registry.FLUID.getRawId(volume.getFluid()), toFixed(volume.getAmount()));
+		}
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Serializes this section as a palette of fluid ids, the palette index of every cell packed into longs (omitted
+	 * for a single fluid), the amount of every cell, and the active flags if any cell is active.
+	 */
+	public CompoundTag toTag() {
+		CompoundTag tag = new CompoundTag();
+
+		Int2IntMap indices = new Int2IntOpenHashMap();
+		IntList palette = new IntArrayList();
+
+		int[] paletteIndices = new int[SIZE];
+
+		for (int index = 0; index < SIZE; ++index) {
+			if (amounts[index] > 0) {
+				int fluid = fluids[index];
+
+				if (!indices.containsKey(fluid)) {
+					indices.put(fluid, palette.size());
+					palette.add(fluid);
+				}
+
+				paletteIndices[index] = indices.get(fluid);
+			}
+		}
+
+		ListTag paletteTag = new ListTag();
+
+		for (int i = 0; i < palette.size(); ++i) {
+			paletteTag.add(StringTag.of(Registry.FLUID.getId(Registry.FLUID.get(palette.getInt(i))).toString()));
+		}
+
+		tag.put("palette", paletteTag);
+
+		if (palette.size() > 1) {
+			int bits = 32 - Integer.numberOfLeadingZeros(palette.size() - 1);
+			int perLong = 64 / bits;
+
+			long[] packed = new long[(SIZE + perLong - 1) / perLong];
+
+			for (int index = 0; index < SIZE; ++index) {
+				packed[index / perLong] |= (long) paletteIndices[index] << (index % perLong * bits);
+			}
+
+			tag.putLongArray("fluids", packed);
+		}
+
+		tag.putIntArray("amounts", amounts.clone());
+
+		if (hasActive()) {
+			tag.putLongArray("active", active.clone());
+		}
+
+		return tag;
+	}
+
+	/**
+	 * Deserializes a section written by {@link #toTag()}. Cells holding fluids which are no longer registered are
+	 * left empty.
+	 */
+	public static AtmosphereSection fromTag(CompoundTag tag) {
+		AtmosphereSection section = new AtmosphereSection();
+
+		ListTag paletteTag = tag.getList("palette", NbtType.STRING);
+
+		int[] palette = new int[paletteTag.size()];
+
+		for (int i = 0; i < palette.length; ++i) {
+			Fluid fluid = Registry.FLUID.get(new Identifier(paletteTag.getString(i)));
+
+			palette[i] = fluid == Fluids.EMPTY ? -1 : Registry.FLUID.getRawId(fluid);
+		}
+
+		if (palette.length == 0)
+			return section;
+
+		int[] amounts = tag.getIntArray("amounts");
+		long[] packed = tag.getLongArray("fluids");
+
+		int bits = palette.length > 1 ? 32 - Integer.numberOfLeadingZeros(palette.length - 1) : 0;
+		int perLong = bits > 0 ? 64 / bits : 0;
+
+		for (int index = 0; index < Math.min(SIZE, amounts.length); ++index) {
+			if (amounts[index] <= 0)
+				continue;
+
+			int paletteIndex = 0;
+
+			if (bits > 0 && index / perLong < packed.length) {
+				paletteIndex = (int) (packed[index / perLong] >>> (index % perLong * bits) & ((1L << bits) - 1L));
+			}
+
+			if (paletteIndex < palette.length && palette[paletteIndex] >= 0) {
+				section.set(index, palette[paletteIndex], amounts[index]);
+			}
+		}
+
+		long[] active = tag.getLongArray("active");
+
+		for (int word = 0; word < Math.min(active.length, section.active.length); ++word) {
+			long cells = active[word];
+
+			while (cells != 0L) {
+				section.activate(word << 6 | Long.numberOfTrailingZeros(cells));
+				cells &= cells - 1L;
+			}
+		}
+
+		return section;
+	}
+}
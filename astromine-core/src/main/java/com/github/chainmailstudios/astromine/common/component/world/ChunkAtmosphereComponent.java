@@ -25,10 +25,15 @@
 package com.github.chainmailstudios.astromine.common.component.world;
 
 import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
+import net.fabricmc.fabric.api.util.NbtType;
+import net.fabricmc.fabric.api.server.PlayerStream;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.state.property.Properties;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.Tag;
+import net.minecraft.network.Packet;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Direction;
@@ -37,6 +42,7 @@ import net.minecraft.world.World;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.WorldChunk;
 
+import com.github.chainmailstudios.astromine.access.WorldChunkAccess;
 import com.github.chainmailstudios.astromine.client.cca.ClientAtmosphereManager;
 import com.github.chainmailstudios.astromine.common.volume.fluid.FluidVolume;
 import com.github.chainmailstudios.astromine.common.volume.fraction.Fraction;
@@ -44,24 +50,48 @@ import com.github.chainmailstudios.astromine.registry.AstromineComponents;
 import com.github.chainmailstudios.astromine.registry.AstromineConfig;
 import dev.onyxstudios.cca.api.v3.component.Component;
 import dev.onyxstudios.cca.api.v3.component.tick.ServerTickingComponent;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortArrayList;
+import it.unimi.dsi.fastutil.shorts.ShortList;
+import it.unimi.dsi.fastutil.shorts.ShortOpenHashSet;
+import it.unimi.dsi.fastutil.shorts.ShortSet;
 import org.jetbrains.annotations.Nullable;
 
-import com.google.common.collect.Lists;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 public class ChunkAtmosphereComponent implements Component, ServerTickingComponent {
-	private final List<Direction> directions = Lists.newArrayList(Direction.values());
+	private static final Direction[] DIRECTIONS = Direction.values();
 
-	private final Map<BlockPos, FluidVolume> volumes = new ConcurrentHashMap<>();
+	private final AtmosphereSection[] sections = new AtmosphereSection[16];
+
+	private final CompoundTag[] pendingSections = new CompoundTag[16];
+
+	private final ShortSet updatedCells = new ShortOpenHashSet();
+
+	private int version = 0;
+
+	private final List<ChunkAtmosphereComponent> outgoingTargets = new ArrayList<>();
+	private final ShortList outgoingSources = new ShortArrayList();
+	private final LongList outgoingFlux = new LongArrayList();
+
+	private final Long2ObjectMap<AtmosphereRoom> rooms = new Long2ObjectOpenHashMap<>();
+
+	private boolean roomsUnloadable = false;
+
+	private final WorldChunk[] neighborChunks = new WorldChunk[4];
+	private final ChunkAtmosphereComponent[] neighborComponents = new ChunkAtmosphereComponent[4];
 
 	private final World world;
 	private final Chunk chunk;
 
-	public int atmosphereTickCounter = 0;
-
 	public ChunkAtmosphereComponent(Chunk chunk) {
 		if (chunk instanceof WorldChunk) {
 			this.world = ((WorldChunk) chunk).getWorld();
@@ -106,116 +136,636 @@ public class ChunkAtmosphereComponent implements Component, ServerTickingCompone
 		return chunk;
 	}
 
-	public Map<BlockPos, FluidVolume> getVolumes() {
-		return volumes;
+	/**
+	 * Returns the section at the given section index, or null if no gas has entered it. Sections loaded from disk
+	 * are decoded the first time they are requested.
+	 */
+	@Nullable
+	public AtmosphereSection getSection(int sectionY) {
+		if (sectionY < 0 || sectionY >= sections.length)
+			return null;
+
+		if (pendingSections[sectionY] != null) {
+			decodeSection(sectionY);
+		}
+
+		return sections[sectionY];
+	}
+
+	private void decodeSection(int sectionY) {
+		AtmosphereSection section = AtmosphereSection.fromTag(pendingSections[sectionY]);
+
+		pendingSections[sectionY] = null;
+		sections[sectionY] = section.isEmpty() ? null : section;
+	}
+
+	/**
+	 * Decodes every section of this chunk still pending from disk, before other threads may read it.
+	 */
+	private void decodeSections() {
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			if (pendingSections[sectionY] != null) {
+				decodeSection(sectionY);
+			}
+		}
+	}
+
+	@Nullable
+	private AtmosphereSection getOrCreateSection(int sectionY) {
+		if (sectionY < 0 || sectionY >= sections.length)
+			return null;
+
+		AtmosphereSection section = getSection(sectionY);
+
+		if (section == null) {
+			section = sections[sectionY] = new AtmosphereSection();
+		}
+
+		return section;
+	}
+
+	/**
+	 * Invokes the given consumer with a copy of every volume stored in this chunk.
+	 */
+	public void forEachVolume(BiConsumer<BlockPos, FluidVolume> consumer) {
+		if (world == null)
+			return;
+
+		ChunkPos chunkPos = chunk.getPos();
+
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			AtmosphereSection section = getSection(sectionY);
+
+			if (section == null)
+				continue;
+
+			for (int index = 0; index < AtmosphereSection.SIZE; ++index) {
+				if (section.getAmount(index) > 0) {
+					consumer.accept(new BlockPos(chunkPos.getStartX() + AtmosphereSection.x(index), (sectionY << 4) + AtmosphereSection.y(index), chunkPos.getStartZ() + AtmosphereSection.z(index)), section.getVolume(index));
+				}
+			}
+		}
 	}
 
+	/**
+	 * Returns a copy of the volume at the given position; changes to it must be stored with
+	 * {@link #add(BlockPos, FluidVolume)}. The gas of a cell belonging to an {@link AtmosphereRoom} is read from its
+	 * reservoir.
+	 */
 	public FluidVolume get(BlockPos position) {
 		if (world == null)
 			return FluidVolume.empty();
 
-		return volumes.getOrDefault(position, FluidVolume.empty());
+		AtmosphereRoom room = getRoom(position);
+
+		if (room != null) {
+			int pressure = room.getPressure();
+
+			return pressure <= 0 ? FluidVolume.empty() : FluidVolume.of(AtmosphereSection.toFraction(pressure), Registry.FLUID.get(room.getRawFluid()));
+		}
+
+		AtmosphereSection section = getSection(position.getY() >> 4);
+
+		if (section == null)
+			return FluidVolume.empty();
+
+		return section.getVolume(AtmosphereSection.index(position.getX(), position.getY(), position.getZ()));
+	}
+
+	public int getRawFluid(BlockPos position) {
+		AtmosphereRoom room = getRoom(position);
+
+		if (room != null)
+			return room.getPressure() > 0 ? room.getRawFluid() : 0;
+
+		AtmosphereSection section = getSection(position.getY() >> 4);
+
+		return section == null ? 0 : section.getRawFluid(AtmosphereSection.index(position.getX(), position.getY(), position.getZ()));
+	}
+
+	public int getAmount(BlockPos position) {
+		AtmosphereRoom room = getRoom(position);
+
+		if (room != null)
+			return room.getPressure();
+
+		AtmosphereSection section = getSection(position.getY() >> 4);
+
+		return section == null ? 0 : section.getAmount(AtmosphereSection.index(position.getX(), position.getY(), position.getZ()));
 	}
 
 	public void add(BlockPos blockPos, FluidVolume volume) {
 		if (world == null)
 			return;
 
-		volumes.put(blockPos, volume);
+		if (volume.isEmpty()) {
+			remove(blockPos);
+		} else {
+			set(blockPos.toImmutable(), Registry.FLUID.getRawId(volume.getFluid()), AtmosphereSection.toFixed(volume.getAmount()));
+		}
+	}
+
+	public void remove(BlockPos blockPos) {
+		if (world == null)
+			return;
+
+		set(blockPos.toImmutable(), 0, 0);
+	}
 
-		if (!world.isClient) {
-			world.getPlayers().forEach((player) -> {
-				ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, ClientAtmosphereManager.GAS_ADDED, ClientAtmosphereManager.ofGasAdded(blockPos, volume));
+	/**
+	 * Stores the given amount of gas at a position, waking it and its neighbours and synchronizing the change to
+	 * clients.
+	 */
+	public void set(BlockPos blockPos, int fluid, int amount) {
+		if (world == null)
+			return;
+
+		AtmosphereRoom room = getRoom(blockPos);
+
+		if (room != null) {
+			room.flush();
+		}
+
+		int sectionY = blockPos.getY() >> 4;
+		int index = AtmosphereSection.index(blockPos.getX(), blockPos.getY(), blockPos.getZ());
+
+		AtmosphereSection section = amount > 0 ? getOrCreateSection(sectionY) : getSection(sectionY);
+
+		if (section == null)
+			return;
+
+		int previousAmount = section.getAmount(index);
+
+		section.set(index, fluid, amount);
+
+		if (section.isEmpty()) {
+			sections[sectionY] = null;
+		}
+
+		if (room != null) {
+			room.onCellChanged(blockPos.asLong(), previousAmount, fluid, amount);
+
+			if (!room.isValid()) {
+				rooms.remove(blockPos.asLong());
+			}
+		}
+
+		wake(blockPos);
+
+		markUpdated(sectionY, index);
+	}
+
+	/**
+	 * Returns the sealed room a position belongs to, or null if its gas is simulated per cell.
+	 */
+	@Nullable
+	public AtmosphereRoom getRoom(BlockPos position) {
+		return rooms.isEmpty() ? null : rooms.get(position.asLong());
+	}
+
+	void joinRoom(BlockPos position, AtmosphereRoom room) {
+		if (!roomsUnloadable) {
+			roomsUnloadable = true;
+
+			((WorldChunkAccess) chunk).astromine_addUnloadListener(() -> {
+				for (AtmosphereRoom unloaded : new ReferenceOpenHashSet<>(rooms.values())) {
+					unloaded.dissolve();
+				}
 			});
 		}
+
+		rooms.put(position.asLong(), room);
+
+		AtmosphereSection section = getSection(position.getY() >> 4);
+
+		if (section != null) {
+			section.deactivate(AtmosphereSection.index(position.getX(), position.getY(), position.getZ()));
+		}
 	}
 
-	public void remove(BlockPos blockPos) {
+	void leaveRoom(BlockPos position, AtmosphereRoom room) {
+		if (rooms.get(position.asLong()) == room) {
+			rooms.remove(position.asLong());
+		}
+
+		AtmosphereSection section = getSection(position.getY() >> 4);
+
+		if (section != null) {
+			section.activate(AtmosphereSection.index(position.getX(), position.getY(), position.getZ()));
+		}
+	}
+
+	/**
+	 * Invalidates the values cached from this chunk's gas, after the reservoir of one of its rooms changed.
+	 */
+	void onRoomChanged() {
+		++version;
+	}
+
+	/**
+	 * Stores the share of a room's reservoir held by one of its cells, without waking it.
+	 */
+	void setRoomCell(BlockPos position, int fluid, int amount) {
+		int sectionY = position.getY() >> 4;
+		int index = AtmosphereSection.index(position.getX(), position.getY(), position.getZ());
+
+		AtmosphereSection section = amount > 0 ? getOrCreateSection(sectionY) : getSection(sectionY);
+
+		if (section == null || (section.getAmount(index) == amount && (amount <= 0 || section.getRawFluid(index) == fluid)))
+			return;
+
+		section.set(index, fluid, amount);
+
+		if (section.isEmpty()) {
+			sections[sectionY] = null;
+		}
+
+		markUpdated(sectionY, index);
+	}
+
+	/**
+	 * Dissolves the rooms holding or bordering a position whose block changed, and wakes the gas around it.
+	 */
+	public void onBlockChanged(BlockPos position) {
 		if (world == null)
 			return;
 
-		volumes.remove(blockPos);
+		dissolveRoom(position);
+
+		BlockPos.Mutable sidePos = new BlockPos.Mutable();
 
+		for (Direction direction : DIRECTIONS) {
+			dissolveRoom(sidePos.set(position, direction));
+		}
+
+		wake(position);
+	}
+
+	private void dissolveRoom(BlockPos position) {
+		ChunkAtmosphereComponent component = isInChunk(position) ? this : getLoadedNeighbor(position);
+
+		if (component != null) {
+			AtmosphereRoom room = component.getRoom(position);
+
+			if (room != null) {
+				room.dissolve();
+			}
+		}
+	}
+
+	private void markUpdated(int sectionY, int index) {
 		if (!world.isClient) {
-			world.getPlayers().forEach((player) -> {
-				ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, ClientAtmosphereManager.GAS_REMOVED, ClientAtmosphereManager.ofGasRemoved(blockPos));
-			});
+			updatedCells.add((short) (sectionY << 12 | index));
+
+			++version;
 		}
 	}
 
+	/**
+	 * Returns a counter which changes whenever any gas of this chunk changes on the server, so that values derived
+	 * from it can be cached.
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Sends the cells changed since the last call to the players tracking this chunk, as a single packet.
+	 */
+	private void sendUpdates() {
+		if (updatedCells.isEmpty())
+			return;
+
+		Packet<?> packet = ServerSidePacketRegistry.INSTANCE.toPacket(ClientAtmosphereManager.GAS_UPDATED, ClientAtmosphereManager.ofGasUpdated(this, updatedCells));
+
+		PlayerStream.watching(world, chunk.getPos()).forEach((player) -> {
+			ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet);
+		});
+
+		updatedCells.clear();
+	}
+
+	/**
+	 * Wakes the gas at a position and at its neighbours, after either it or the blocks around it changed. Neighbours
+	 * in chunks which are not loaded are left alone.
+	 */
+	public void wake(BlockPos position) {
+		if (world == null)
+			return;
+
+		activate(position);
+
+		BlockPos.Mutable sidePos = new BlockPos.Mutable();
+
+		for (Direction direction : Direction.values()) {
+			activate(sidePos.set(position, direction));
+		}
+	}
+
+	private void activate(BlockPos position) {
+		ChunkAtmosphereComponent component = this;
+
+		if (!isInChunk(position)) {
+			component = getLoadedNeighbor(position);
+		}
+
+		if (component != null) {
+			AtmosphereSection section = component.getSection(position.getY() >> 4);
+
+			if (section != null) {
+				section.activate(AtmosphereSection.index(position.getX(), position.getY(), position.getZ()));
+			}
+		}
+	}
+
+	/**
+	 * Sends every cell of this chunk to a player which started tracking it.
+	 */
+	public void sendSnapshot(ServerPlayerEntity player) {
+		if (world == null)
+			return;
+
+		ShortList cells = new ShortArrayList();
+
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			AtmosphereSection section = getSection(sectionY);
+
+			if (section == null)
+				continue;
+
+			for (int index = 0; index < AtmosphereSection.SIZE; ++index) {
+				if (section.getAmount(index) > 0) {
+					cells.add((short) (sectionY << 12 | index));
+				}
+			}
+		}
+
+		if (!cells.isEmpty()) {
+			ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, ClientAtmosphereManager.GAS_UPDATED, ClientAtmosphereManager.ofGasUpdated(this, cells));
+		}
+	}
+
+	/**
+	 * Hands this chunk to the {@link AtmosphereScheduler} every {@code gasTickRate} ticks, if it has gas to move.
+	 */
 	@Override
 	public void serverTick() {
 		if (world == null)
 			return;
 
-		if (atmosphereTickCounter < AstromineConfig.get().gasTickRate) {
-			atmosphereTickCounter++;
-		} else {
-			atmosphereTickCounter = 0;
-		}
+		sendUpdates();
 
-		if (!(atmosphereTickCounter == AstromineConfig.get().gasTickRate && world.isChunkLoaded(chunk.getPos().x, chunk.getPos().z)))
+		int rate = Math.max(1, AstromineConfig.get().gasTickRate);
+
+		if (world.getTime() % rate != 0L || !world.isChunkLoaded(chunk.getPos().x, chunk.getPos().z))
 			return;
 
-		for (Map.Entry<BlockPos, FluidVolume> pair : volumes.entrySet()) {
-			BlockPos centerPos = pair.getKey();
+		if (hasActive()) {
+			AtmosphereScheduler.INSTANCE.schedule(this);
+		}
+	}
+
+	private boolean hasActive() {
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			if (sections[sectionY] != null && sections[sectionY].hasActive())
+				return true;
+
+			if (pendingSections[sectionY] != null && pendingSections[sectionY].contains("active"))
+				return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Looks up the neighbouring chunks {@link #computeStep()} may read from, decoding them. Must be called on the
+	 * server thread.
+	 */
+	public void prepareStep() {
+		decodeSections();
 
-			FluidVolume centerVolume = pair.getValue();
+		ChunkPos chunkPos = chunk.getPos();
 
-			centerVolume.minus(Fraction.of(AstromineConfig.get().gasDecayNumerator, AstromineConfig.get().gasDecayDenominator));
+		for (Direction direction : Direction.Type.HORIZONTAL) {
+			WorldChunk neighbor = world.getChunkManager().getWorldChunk(chunkPos.x + direction.getOffsetX(), chunkPos.z + direction.getOffsetZ(), false);
+			ChunkAtmosphereComponent neighborComponent = neighbor == null ? null : get(neighbor);
 
-			if (centerVolume.isEmpty()) {
-				remove(centerPos);
+			if (neighborComponent != null) {
+				neighborComponent.decodeSections();
 			}
 
-			Collections.shuffle(directions);
+			neighborChunks[direction.getHorizontal()] = neighbor;
+			neighborComponents[direction.getHorizontal()] = neighborComponent;
+		}
+	}
+
+	/**
+	 * Computes one diffusion step into the back buffers of this chunk's sections, and the flux leaving it into its
+	 * outgoing list. Every active cell only reads the state of the previous step, of its own and its neighbours', so
+	 * the result does not depend on the order in which cells or chunks are processed, and no current state is
+	 * modified.
+	 *
+	 * It only reads blocks and gas through this chunk and the neighbours found by {@link #prepareStep()}, so the
+	 * steps of separate chunks may be computed concurrently, off the server thread. Gas flowing into a neighbour is
+	 * only taken from its cell once {@link #resolveFlux(Set)} accepted it.
+	 *
+	 * A cell holding at least a bottle of gas gives each neighbour holding less up to a bottle, but no more than a
+	 * seventh of the difference, and decays while it does; once it has nowhere to spread, it sleeps until it or a
+	 * neighbour changes. Cells holding less than a bottle cannot spread, and decay until they are empty. Cells
+	 * belonging to an {@link AtmosphereRoom} are left to it.
+	 */
+	public void computeStep() {
+		int decay = AtmosphereSection.toFixed(Fraction.of(AstromineConfig.get().gasDecayNumerator, AstromineConfig.get().gasDecayDenominator));
+		int bottle = AtmosphereSection.toFixed(Fraction.BOTTLE);
 
-			for (Direction direction : directions) {
-				BlockPos sidePos = centerPos.offset(direction);
+		ChunkPos chunkPos = chunk.getPos();
 
-				if (isInChunk(sidePos)) {
-					FluidVolume sideVolume = get(sidePos);
+		WorldChunk worldChunk = (WorldChunk) chunk;
 
-					BlockState sideState = world.getBlockState(sidePos);
-					BlockState centerState = world.getBlockState(centerPos);
+		BlockPos.Mutable centerPos = new BlockPos.Mutable();
+		BlockPos.Mutable sidePos = new BlockPos.Mutable();
 
-					if (isTraversableForPropagation(centerState, centerPos, sideState, sidePos, centerVolume, sideVolume, direction)) {
-						if (world.isAir(centerPos)) {
-							centerVolume.add(sideVolume, Fraction.BOTTLE);
-						} else if (!centerState.isSideSolidFullSquare(world, centerPos, direction)) {
-							centerVolume.add(sideVolume, Fraction.BOTTLE);
-						} else {
-							centerVolume.add(sideVolume, centerVolume.getAmount());
-						}
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			AtmosphereSection section = sections[sectionY];
 
-						add(sidePos, sideVolume);
+			if (section == null || !section.hasActive())
+				continue;
+
+			section.beginStep();
+
+			for (int word = 0; word < AtmosphereSection.SIZE / 64; ++word) {
+				long activeCells = section.getActiveWord(word);
+
+				while (activeCells != 0L) {
+					int index = word << 6 | Long.numberOfTrailingZeros(activeCells);
+					activeCells &= activeCells - 1L;
+
+					int centerAmount = section.getAmount(index);
+
+					centerPos.set(chunkPos.getStartX() + AtmosphereSection.x(index), (sectionY << 4) + AtmosphereSection.y(index), chunkPos.getStartZ() + AtmosphereSection.z(index));
+
+					if (centerAmount <= 0 || (!rooms.isEmpty() && rooms.containsKey(centerPos.asLong()))) {
+						section.deactivate(index);
+						continue;
+					}
+
+					int centerFluid = section.getRawFluid(index);
+
+					if (centerAmount < bottle) {
+						section.addNext(index, centerFluid, -decay);
+						continue;
 					}
-				} else {
-					ChunkPos neighborPos = getNeighborFromPos(sidePos);
 
-					ChunkAtmosphereComponent chunkAtmosphereComponent = AstromineComponents.CHUNK_ATMOSPHERE_COMPONENT.get(world.getChunk(neighborPos.x, neighborPos.z));
+					BlockState centerState = worldChunk.getBlockState(centerPos);
+
+					boolean moved = false;
+
+					for (Direction direction : DIRECTIONS) {
+						sidePos.set(centerPos, direction);
+
+						int sideSectionY = sidePos.getY() >> 4;
+
+						if (sideSectionY < 0 || sideSectionY >= sections.length)
+							continue;
+
+						boolean inChunk = isInChunk(sidePos);
+
+						ChunkAtmosphereComponent sideComponent = inChunk ? this : neighborComponents[direction.getHorizontal()];
+						WorldChunk sideChunk = inChunk ? worldChunk : neighborChunks[direction.getHorizontal()];
+
+						if (sideComponent == null || sideChunk == null)
+							continue;
 
-					FluidVolume sideVolume = chunkAtmosphereComponent.get(sidePos);
+						int sideFluid = sideComponent.getRawFluid(sidePos);
+						int sideAmount = sideComponent.getAmount(sidePos);
 
-					BlockState sideState = world.getBlockState(sidePos);
-					BlockState centerState = world.getBlockState(centerPos);
+						BlockState sideState = sideChunk.getBlockState(sidePos);
 
-					if (isTraversableForPropagation(centerState, centerPos, sideState, sidePos, centerVolume, sideVolume, direction)) {
-						if (world.isAir(centerPos)) {
-							centerVolume.add(sideVolume, Fraction.BOTTLE);
-						} else if (!world.getBlockState(centerPos).isSideSolidFullSquare(world, centerPos, direction)) {
-							centerVolume.add(sideVolume, Fraction.BOTTLE);
+						if (!isTraversableForPropagation(centerState, sideState, centerFluid, centerAmount, sideFluid, sideAmount, direction))
+							continue;
+
+						int amount = Math.min(bottle, (centerAmount - sideAmount) / 7);
+
+						if (amount <= 0)
+							continue;
+
+						int sideIndex = AtmosphereSection.index(sidePos.getX(), sidePos.getY(), sidePos.getZ());
+
+						if (sideComponent == this) {
+							AtmosphereSection sideSection = getOrCreateSection(sideSectionY);
+
+							sideSection.beginStep();
+
+							if (!sideSection.addNext(sideIndex, centerFluid, amount))
+								continue;
+
+							section.addNext(index, centerFluid, -amount);
 						} else {
-							centerVolume.add(sideVolume, centerVolume.getAmount());
+							outgoingTargets.add(sideComponent);
+							outgoingSources.add((short) (sectionY << 12 | index));
+							outgoingFlux.add((long) (sideSectionY << 12 | sideIndex) << 48 | (long) (centerFluid & 0xFFFF) << 32 | amount);
 						}
 
-						chunkAtmosphereComponent.add(sidePos, sideVolume);
+						moved = true;
+					}
+
+					if (moved) {
+						section.addNext(index, centerFluid, -decay);
+					} else {
+						section.deactivate(index);
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Adds the flux computed by {@link #computeStep()} to the back buffers of the neighbours it flows into, once every
+	 * chunk's step was computed, and takes it from the cells it leaves. Flux into a cell which will hold a different
+	 * fluid is rejected, and its gas stays where it was. Must be called on the server thread.
+	 *
+	 * @param targets the components whose back buffers received flux, which must be committed as well.
+	 */
+	public void resolveFlux(Set<ChunkAtmosphereComponent> targets) {
+		for (int i = 0; i < outgoingFlux.size(); ++i) {
+			long entry = outgoingFlux.getLong(i);
+
+			int cell = (int) (entry >>> 48);
+			int fluid = (int) (entry >>> 32) & 0xFFFF;
+			int amount = (int) entry;
+
+			ChunkAtmosphereComponent target = outgoingTargets.get(i);
+			AtmosphereSection targetSection = target.getOrCreateSection(cell >> 12);
+
+			targetSection.beginStep();
+
+			if (targetSection.addNext(cell & 0xFFF, fluid, amount)) {
+				int source = outgoingSources.getShort(i) & 0xFFFF;
+
+				sections[source >> 12].addNext(source & 0xFFF, fluid, -amount);
+
+				targets.add(target);
+			}
+		}
+
+		outgoingTargets.clear();
+		outgoingSources.clear();
+		outgoingFlux.clear();
+	}
+
+	/**
+	 * Makes the back buffers computed by {@link #computeStep()} and {@link #resolveFlux(Set)} current, waking and
+	 * synchronizing every cell which changed.
+	 */
+	public void commitStep() {
+		ChunkPos chunkPos = chunk.getPos();
+
+		BlockPos.Mutable position = new BlockPos.Mutable();
+
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			AtmosphereSection section = sections[sectionY];
+
+			if (section == null || !section.isStepping())
+				continue;
+
+			for (int word = 0; word < AtmosphereSection.SIZE / 64; ++word) {
+				long touchedCells = section.getTouchedWord(word);
+
+				while (touchedCells != 0L) {
+					int index = word << 6 | Long.numberOfTrailingZeros(touchedCells);
+					touchedCells &= touchedCells - 1L;
+
+					int fluid = section.getNextFluid(index);
+					int amount = Math.max(0, section.getNextAmount(index));
+
+					if (amount != section.getAmount(index) || (amount > 0 && fluid != section.getRawFluid(index))) {
+						section.set(index, fluid, amount);
+
+						wake(position.set(chunkPos.getStartX() + AtmosphereSection.x(index), (sectionY << 4) + AtmosphereSection.y(index), chunkPos.getStartZ() + AtmosphereSection.z(index)));
+
+						markUpdated(sectionY, index);
+					}
+				}
+			}
+
+			section.endStep();
+
+			if (section.isEmpty()) {
+				sections[sectionY] = null;
+			}
+		}
+
+		Arrays.fill(neighborChunks, null);
+		Arrays.fill(neighborComponents, null);
+	}
+
+	@Nullable
+	private ChunkAtmosphereComponent getLoadedNeighbor(BlockPos position) {
+		WorldChunk neighbor = world.getChunkManager().getWorldChunk(position.getX() >> 4, position.getZ() >> 4, false);
+
+		return neighbor == null ? null : get(neighbor);
+	}
+
 	public boolean isInChunk(BlockPos pos) {
 		if (world == null)
 			return false;
@@ -230,38 +780,82 @@ public class ChunkAtmosphereComponent implements Component, ServerTickingCompone
 		return getNeighborFromPos(chunk.getPos(), pos);
 	}
 
+	/**
+	 * Writes every section holding gas as a compact {@link AtmosphereSection#toTag()}; sections which were never
+	 * decoded since loading are written back as they were read.
+	 */
 	@Override
 	public void writeToNbt(CompoundTag tag) {
 		if (world == null)
 			return;
 
-		CompoundTag dataTag = new CompoundTag();
+		for (AtmosphereRoom room : new ReferenceOpenHashSet<>(rooms.values())) {
+			room.flush();
+		}
+
+		ListTag sectionsTag = new ListTag();
 
-		int i = 0;
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			CompoundTag sectionTag;
 
-		for (Map.Entry<BlockPos, FluidVolume> entry : volumes.entrySet()) {
-			CompoundTag pointTag = new CompoundTag();
-			pointTag.putLong("pos", entry.getKey().asLong());
-			pointTag.put("volume", entry.getValue().toTag());
+			if (pendingSections[sectionY] != null) {
+				sectionTag = pendingSections[sectionY];
+			} else if (sections[sectionY] != null && !sections[sectionY].isEmpty()) {
+				sectionTag = sections[sectionY].toTag();
+			} else {
+				continue;
+			}
+
+			sectionTag.putByte("y", (byte) sectionY);
 
-			dataTag.put(String.valueOf(i), pointTag);
-			++i;
+			sectionsTag.add(sectionTag);
 		}
 
-		tag.put("data", dataTag);
+		tag.put("sections", sectionsTag);
 	}
 
+	/**
+	 * Reads the sections written by {@link #writeToNbt(CompoundTag)} without decoding them, or the former format of
+	 * one tag per cell, which is decoded at once.
+	 */
 	@Override
 	public void readFromNbt(CompoundTag tag) {
 		if (world == null)
 			return;
 
+		if (tag.contains("sections")) {
+			for (Tag sectionTag : tag.getList("sections", NbtType.COMPOUND)) {
+				int sectionY = ((CompoundTag) sectionTag).getByte("y");
+
+				if (sectionY >= 0 && sectionY < sections.length) {
+					sections[sectionY] = null;
+					pendingSections[sectionY] = (CompoundTag) sectionTag;
+				}
+			}
+
+			return;
+		}
+
 		CompoundTag dataTag = tag.getCompound("data");
 
 		for (String key : dataTag.getKeys()) {
 			CompoundTag pointTag = dataTag.getCompound(key);
 
-			volumes.put(BlockPos.fromLong(pointTag.getLong("pos")), FluidVolume.fromTag(pointTag.getCompound("volume")));
+			BlockPos position = BlockPos.fromLong(pointTag.getLong("pos"));
+			AtmosphereSection section = getOrCreateSection(position.getY() >> 4);
+
+			if (section != null) {
+				int index = AtmosphereSection.index(position.getX(), position.getY(), position.getZ());
+
+				section.setVolume(index, FluidVolume.fromTag(pointTag.getCompound("volume")));
+				section.activate(index);
+			}
+		}
+
+		for (int sectionY = 0; sectionY < sections.length; ++sectionY) {
+			if (sections[sectionY] != null && sections[sectionY].isEmpty()) {
+				sections[sectionY] = null;
+			}
 		}
 	}
 
@@ -269,16 +863,20 @@ public class ChunkAtmosphereComponent implements Component, ServerTickingCompone
 		if (world == null)
 			return false;
 
-		return !(Registry.BLOCK.getId(sideState.getBlock()).toString().equals("astromine:airlock") && !sideState.get(Properties.POWERED)) && (sideState.isAir() || !sideState.isSideSolidFullSquare(world, sidePos, direction.getOpposite())) && (centerState.isAir() || !centerState
-			.isSideSolidFullSquare(world, centerPos, direction)) && (sideVolume.isEmpty() || sideVolume.test(centerVolume.getFluid())) && (centerVolume.hasStored(Fraction.BOTTLE) && !sideState.isOpaqueFullCube(world, centerPos)) && sideVolume.smallerThan(centerVolume
-				.getAmount());
+		return AtmospherePermeability.canPropagate(centerState, sideState, direction) && (sideVolume.isEmpty() || sideVolume.test(centerVolume.getFluid())) && centerVolume.hasStored(Fraction.BOTTLE) && sideVolume.smallerThan(centerVolume.getAmount());
+	}
+
+	public boolean isTraversableForPropagation(BlockState centerState, BlockState sideState, int centerFluid, int centerAmount, int sideFluid, int sideAmount, Direction direction) {
+		if (world == null)
+			return false;
+
+		return AtmospherePermeability.canPropagate(centerState, sideState, direction) && (sideAmount <= 0 || sideFluid == centerFluid) && sideAmount < centerAmount;
 	}
 
 	public boolean isTraversableForDisplacement(BlockState centerState, BlockPos centerPos, BlockState sideState, BlockPos sidePos, FluidVolume centerVolume, FluidVolume sideVolume, Direction direction) {
 		if (world == null)
 			return false;
 
-		return !(Registry.BLOCK.getId(sideState.getBlock()).toString().equals("astromine:airlock") && !sideState.get(Properties.POWERED)) && (sideState.isAir() || !sideState.isSideSolidFullSquare(world, sidePos, direction.getOpposite())) && (centerState.isAir() || !centerState
-			.isSideSolidFullSquare(world, centerPos, direction)) && (sideVolume.isEmpty() || sideVolume.test(centerVolume.getFluid())) && (!sideState.isOpaqueFullCube(world, centerPos));
+		return AtmospherePermeability.canPropagate(centerState, sideState, direction) && (sideVolume.isEmpty() || sideVolume.test(centerVolume.getFluid()));
 	}
 }
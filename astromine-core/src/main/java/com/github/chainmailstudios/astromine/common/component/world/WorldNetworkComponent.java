@@ -33,23 +33,47 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Tickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
 
+import com.github.chainmailstudios.astromine.access.WorldChunkAccess;
 import com.github.chainmailstudios.astromine.common.network.NetworkInstance;
 import com.github.chainmailstudios.astromine.common.network.NetworkMemberNode;
 import com.github.chainmailstudios.astromine.common.network.NetworkNode;
 import com.github.chainmailstudios.astromine.common.network.type.base.NetworkType;
 import com.github.chainmailstudios.astromine.common.registry.NetworkTypeRegistry;
+import com.github.chainmailstudios.astromine.common.utilities.PackingUtilities;
 import com.github.chainmailstudios.astromine.registry.AstromineComponents;
+import com.github.chainmailstudios.astromine.registry.AstromineConfig;
 import dev.onyxstudios.cca.api.v3.component.Component;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import org.jetbrains.annotations.Nullable;
 
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class WorldNetworkComponent implements Component, Tickable {
 	private final Set<NetworkInstance> instances = Sets.newConcurrentHashSet();
 
+	private final Map<NetworkType, Long2ObjectMap<NetworkInstance>> positions = new Reference2ObjectOpenHashMap<>();
+
+	private final Long2ObjectMap<Set<NetworkInstance>> chunks = new Long2ObjectOpenHashMap<>();
+
+	private final List<NetworkInstance> ticking = new ArrayList<>();
+
+	private final LongSet unvalidated = new LongOpenHashSet();
+
 	private final World world;
 
 	public WorldNetworkComponent(World world) {
@@ -66,16 +90,121 @@ public class WorldNetworkComponent implements Component, Tickable {
 	}
 
 	public void addInstance(NetworkInstance instance) {
-		if (!instance.nodes.isEmpty())
+		if (!instance.nodes.isEmpty()) {
 			this.instances.add(instance);
+			instance.setComponent(this);
+
+			for (NetworkNode node : instance.nodes) {
+				indexNode(instance, node.getPos());
+			}
+
+			for (long chunk : instance.getChunks()) {
+				indexChunk(instance, chunk);
+			}
+		}
 	}
 
 	public void removeInstance(NetworkInstance instance) {
-		this.instances.remove(instance);
+		if (this.instances.remove(instance)) {
+			instance.setComponent(null);
+			instance.setPlan(null);
+
+			for (NetworkNode node : instance.nodes) {
+				unindexNode(instance, node.getPos());
+			}
+
+			for (long chunk : instance.getChunks()) {
+				unindexChunk(instance, chunk);
+			}
+		}
+	}
+
+	public void indexNode(NetworkInstance instance, long position) {
+		this.positions.computeIfAbsent(instance.getType(), type -> {
+			Long2ObjectMap<NetworkInstance> map = new Long2ObjectOpenHashMap<>();
+			map.defaultReturnValue(NetworkInstance.EMPTY);
+			return map;
+		}).put(position, instance);
+	}
+
+	public void unindexNode(NetworkInstance instance, long position) {
+		Long2ObjectMap<NetworkInstance> map = this.positions.get(instance.getType());
+
+		if (map != null && map.get(position) == instance) {
+			map.remove(position);
+		}
+	}
+
+	public void indexChunk(NetworkInstance instance, long chunk) {
+		this.chunks.computeIfAbsent(chunk, position -> new ReferenceOpenHashSet<>()).add(instance);
+	}
+
+	public void unindexChunk(NetworkInstance instance, long chunk) {
+		Set<NetworkInstance> instances = this.chunks.get(chunk);
+
+		if (instances != null && instances.remove(instance) && instances.isEmpty()) {
+			this.chunks.remove(chunk);
+		}
 	}
 
 	public NetworkInstance getInstance(NetworkType type, BlockPos position) {
-		return this.instances.stream().filter(instance -> instance.getType() == type && instance.nodes.stream().anyMatch(node -> node.getBlockPos().equals(position))).findFirst().orElse(NetworkInstance.EMPTY);
+		Long2ObjectMap<NetworkInstance> map = this.positions.get(type);
+
+		return map == null ? NetworkInstance.EMPTY : map.get(position.asLong());
+	}
+
+	/**
+	 * Invalidates the transfer plans of every instance adjacent to the given member position, for changes that do not
+	 * alter the network's topology, such as a member's transfer configuration.
+	 */
+	public void invalidatePlans(BlockPos position) {
+		for (Long2ObjectMap<NetworkInstance> map : this.positions.values()) {
+			for (Direction direction : Direction.values()) {
+				NetworkInstance instance = map.get(position.offset(direction).asLong());
+
+				if (instance != NetworkInstance.EMPTY) {
+					instance.invalidatePlan();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resumes the segments of every instance within a chunk which has just been loaded, and suspends them again when
+	 * it unloads, as transfer plans only resolve members in loaded chunks. The segments are validated against the
+	 * chunk's blocks on the next tick.
+	 */
+	public void onChunkLoad(WorldChunk chunk) {
+		long position = chunk.getPos().toLong();
+
+		invalidateSegments(position);
+
+		this.unvalidated.add(position);
+
+		((WorldChunkAccess) chunk).astromine_addUnloadListener(() -> invalidateSegments(position));
+	}
+
+	private void validateSegments(long chunk) {
+		Set<NetworkInstance> instances = this.chunks.get(chunk);
+
+		if (instances == null || !this.world.getChunkManager().isChunkLoaded(ChunkPos.getPackedX(chunk), ChunkPos.getPackedZ(chunk)))
+			return;
+
+		for (NetworkInstance instance : new ArrayList<>(instances)) {
+			if (instance.validate(chunk)) {
+				removeInstance(instance);
+			}
+		}
+	}
+
+	private void invalidateSegments(long chunk) {
+		Set<NetworkInstance> instances = this.chunks.get(chunk);
+
+		if (instances != null) {
+			for (NetworkInstance instance : instances) {
+				instance.invalidatePlan();
+			}
+		}
 	}
 
 	public boolean containsInstance(NetworkType type, BlockPos position) {
@@ -86,36 +215,45 @@ public class WorldNetworkComponent implements Component, Tickable {
 		return world;
 	}
 
+	public Set<NetworkInstance> getInstances() {
+		return instances;
+	}
+
 	@Override
 	public void writeToNbt(CompoundTag tag) {
-		ListTag instanceTags = new ListTag();
+		ListTag networkTags = new ListTag();
 
 		for (NetworkInstance instance : instances) {
-			ListTag nodeList = new ListTag();
-			for (NetworkNode node : instance.nodes) {
-				nodeList.add(LongTag.of(node.getPos()));
-			}
-
-			ListTag memberList = new ListTag();
-			for (NetworkMemberNode member : instance.members) {
-				memberList.add(member.toTag(new CompoundTag()));
-			}
-
 			CompoundTag data = new CompoundTag();
 
 			data.putString("type", NetworkTypeRegistry.INSTANCE.getKey(instance.getType()).toString());
-			data.put("nodes", nodeList);
-			data.put("members", memberList);
+			data.putLongArray("data", pack(instance));
 			data.put("additionalData", instance.getAdditionalData());
 
-			instanceTags.add(data);
+			networkTags.add(data);
 		}
 
-		tag.put("instanceTags", instanceTags);
+		tag.put("networks", networkTags);
 	}
 
 	@Override
 	public void readFromNbt(CompoundTag tag) {
+		for (Tag networkTag : tag.getList("networks", NbtType.COMPOUND)) {
+			CompoundTag dataTag = (CompoundTag) networkTag;
+
+			NetworkType type = NetworkTypeRegistry.INSTANCE.get(new Identifier(dataTag.getString("type")));
+			NetworkInstance instance = new NetworkInstance(world, type);
+
+			unpack(instance, dataTag.getLongArray("data"));
+
+			if (dataTag.contains("additionalData")) {
+				instance.setAdditionalData(dataTag.getCompound("additionalData"));
+			}
+
+			addInstance(instance);
+		}
+
+		// Worlds saved before the packed format was introduced.
 		ListTag instanceTags = tag.getList("instanceTags", NbtType.COMPOUND);
 		for (Tag instanceTag : instanceTags) {
 			CompoundTag dataTag = (CompoundTag) instanceTag;
@@ -141,9 +279,100 @@ public class WorldNetworkComponent implements Component, Tickable {
 		}
 	}
 
+	/**
+	 * Packs the nodes and members of an instance into a single array. Both are sorted and stored as
+	 * per-axis deltas from the previous position, as signed variable-length integers; members are
+	 * followed by their direction.
+	 */
+	private static long[] pack(NetworkInstance instance) {
+		long[] nodes = instance.nodes.stream().mapToLong(NetworkNode::getPos).sorted().toArray();
+
+		List<NetworkMemberNode> members = new ArrayList<>(instance.members);
+		members.sort(Comparator.comparingLong(NetworkMemberNode::getPos).thenComparingInt(NetworkMemberNode::getDir));
+
+		PackingUtilities.Writer writer = new PackingUtilities.Writer();
+
+		writer.writeVarInt(nodes.length);
+		writer.writeVarInt(members.size());
+
+		BlockPos.Mutable previous = new BlockPos.Mutable();
+
+		for (long node : nodes) {
+			writeDelta(writer, previous, node);
+		}
+
+		previous.set(0, 0, 0);
+
+		for (NetworkMemberNode member : members) {
+			writeDelta(writer, previous, member.getPos());
+			writer.writeByte(member.getDir() + 1);
+		}
+
+		return writer.toArray();
+	}
+
+	private static void unpack(NetworkInstance instance, long[] data) {
+		PackingUtilities.Reader reader = new PackingUtilities.Reader(data);
+
+		int nodes = reader.readVarInt();
+		int members = reader.readVarInt();
+
+		BlockPos.Mutable previous = new BlockPos.Mutable();
+
+		for (int i = 0; i < nodes; ++i) {
+			instance.addNode(NetworkNode.of(readDelta(reader, previous)));
+		}
+
+		previous.set(0, 0, 0);
+
+		for (int i = 0; i < members; ++i) {
+			long position = readDelta(reader, previous);
+			instance.addMember(NetworkMemberNode.of(position, reader.readByte() - 1));
+		}
+	}
+
+	private static void writeDelta(PackingUtilities.Writer writer, BlockPos.Mutable previous, long position) {
+		int x = BlockPos.unpackLongX(position);
+		int y = BlockPos.unpackLongY(position);
+		int z = BlockPos.unpackLongZ(position);
+
+		writer.writeSignedVarInt(x - previous.getX());
+		writer.writeSignedVarInt(y - previous.getY());
+		writer.writeSignedVarInt(z - previous.getZ());
+
+		previous.set(x, y, z);
+	}
+
+	private static long readDelta(PackingUtilities.Reader reader, BlockPos.Mutable previous) {
+		previous.move(reader.readSignedVarInt(), reader.readSignedVarInt(), reader.readSignedVarInt());
+
+		return previous.asLong();
+	}
+
 	@Override
 	public void tick() {
-		this.instances.removeIf(NetworkInstance::isStupidlyEmpty);
-		this.instances.forEach(NetworkInstance::tick);
+		if (!this.unvalidated.isEmpty()) {
+			for (long chunk : this.unvalidated) {
+				validateSegments(chunk);
+			}
+
+			this.unvalidated.clear();
+		}
+
+		for (NetworkInstance instance : this.instances) {
+			if (instance.shouldTick()) {
+				this.ticking.add(instance);
+			}
+		}
+
+		if (AstromineConfig.get().parallelNetworkTicking && this.ticking.size() > 1) {
+			this.ticking.forEach(NetworkInstance::prepare);
+			this.ticking.parallelStream().forEach(NetworkInstance::compute);
+			this.ticking.forEach(NetworkInstance::apply);
+		} else {
+			this.ticking.forEach(NetworkInstance::tick);
+		}
+
+		this.ticking.clear();
 	}
 }
@@ -27,16 +27,26 @@ package com.github.chainmailstudios.astromine.common.network;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.util.Tickable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 
 import com.github.chainmailstudios.astromine.AstromineCommon;
+import com.github.chainmailstudios.astromine.common.component.world.WorldNetworkComponent;
 import com.github.chainmailstudios.astromine.common.network.type.base.NetworkType;
 import com.github.chainmailstudios.astromine.common.registry.NetworkMemberRegistry;
 import com.github.chainmailstudios.astromine.common.registry.NetworkTypeRegistry;
 import com.github.chainmailstudios.astromine.common.utilities.data.position.WorldPos;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jetbrains.annotations.Nullable;
 
 import com.google.common.collect.Sets;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 public class NetworkInstance implements Iterable<NetworkNode>, Tickable {
@@ -45,10 +55,24 @@ public class NetworkInstance implements Iterable<NetworkNode>, Tickable {
 	public final Set<NetworkMemberNode> members = Sets.newConcurrentHashSet();
 	public final Set<NetworkNode> nodes = Sets.newConcurrentHashSet();
 
+	private final Long2ObjectMap<List<NetworkMemberNode>> segments = new Long2ObjectOpenHashMap<>();
+
+	private final Long2IntMap chunks = new Long2IntOpenHashMap();
+
 	private final World world;
 	public NetworkType type;
 	private CompoundTag additionalData = new CompoundTag();
 
+	@Nullable
+	private WorldNetworkComponent component;
+
+	@Nullable
+	private NetworkPlan plan;
+
+	private int dormancy = 0;
+
+	private final NetworkProfile profile = new NetworkProfile();
+
 	private NetworkInstance() {
 		this.type = NetworkType.EMPTY;
 		this.world = null;
@@ -67,34 +91,138 @@ public class NetworkInstance implements Iterable<NetworkNode>, Tickable {
 		this.additionalData = additionalData;
 	}
 
+	public void setComponent(@Nullable WorldNetworkComponent component) {
+		this.component = component;
+	}
+
+	/**
+	 * Returns the transfer plan compiled by this instance's {@link NetworkType}, or null if it has been invalidated by a
+	 * change in topology or member configuration.
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T extends NetworkPlan> T getPlan() {
+		return (T) plan;
+	}
+
+	/**
+	 * Replaces the transfer plan of this instance, releasing the previous one.
+	 */
+	public void setPlan(@Nullable NetworkPlan plan) {
+		if (this.plan != null && this.plan != plan) {
+			this.plan.release();
+		}
+
+		this.plan = plan;
+	}
+
+	public void invalidatePlan() {
+		setPlan(null);
+
+		wake();
+	}
+
+	public boolean isDormant() {
+		return dormancy != 0;
+	}
+
+	/**
+	 * Stops this instance from ticking until it is woken by a member or topology change.
+	 */
+	public void sleep() {
+		this.dormancy = -1;
+	}
+
+	/**
+	 * Stops this instance from ticking for the given amount of ticks, for members which cannot notify it of changes.
+	 */
+	public void sleep(int ticks) {
+		this.dormancy = ticks;
+	}
+
+	public void wake() {
+		this.dormancy = 0;
+	}
+
+	/**
+	 * Advances this instance's dormancy by one tick, and returns whether it should tick.
+	 */
+	public boolean shouldTick() {
+		if (dormancy > 0) {
+			dormancy--;
+		}
+
+		return dormancy == 0;
+	}
+
 	@Override
 	public Iterator<NetworkNode> iterator() {
 		return this.nodes.iterator();
 	}
 
 	public void addNode(NetworkNode node) {
-		this.nodes.add(node);
+		if (this.nodes.add(node)) {
+			track(node.getPos());
+			invalidatePlan();
+
+			if (this.component != null) {
+				this.component.indexNode(this, node.getPos());
+			}
+		}
 	}
 
 	public void addBlockPos(BlockPos position) {
-		this.nodes.add(NetworkNode.of(position));
+		addNode(NetworkNode.of(position));
 	}
 
 	public void addMember(NetworkMemberNode member) {
-		this.members.add(member);
+		if (this.members.add(member)) {
+			this.segments.computeIfAbsent(getChunk(member.getPos()), chunk -> new ArrayList<>()).add(member);
+
+			track(member.getPos());
+			invalidatePlan();
+		}
 	}
 
 	public void removeNode(NetworkNode node) {
-		this.nodes.remove(node);
+		if (this.nodes.remove(node)) {
+			untrack(node.getPos());
+			invalidatePlan();
+
+			if (this.component != null) {
+				this.component.unindexNode(this, node.getPos());
+			}
+		}
 	}
 
 	public void removeMember(NetworkMemberNode node) {
-		this.members.remove(node);
+		if (this.members.remove(node)) {
+			long chunk = getChunk(node.getPos());
+			List<NetworkMemberNode> segment = this.segments.get(chunk);
+
+			if (segment != null) {
+				segment.removeIf(member -> !this.members.contains(member));
+
+				if (segment.isEmpty()) {
+					this.segments.remove(chunk);
+				}
+			}
+
+			untrack(node.getPos());
+			invalidatePlan();
+		}
 	}
 
 	public NetworkInstance join(NetworkInstance controller) {
-		this.nodes.addAll(controller.nodes);
-		this.members.addAll(controller.members);
+		for (NetworkNode node : controller.nodes) {
+			addNode(node);
+		}
+
+		for (NetworkMemberNode member : controller.members) {
+			addMember(member);
+		}
+
+		invalidatePlan();
 
 		return this;
 	}
@@ -112,13 +240,86 @@ public class NetworkInstance implements Iterable<NetworkNode>, Tickable {
 		return world;
 	}
 
+	/**
+	 * Returns this instance's members, grouped by the packed {@link ChunkPos} they are in.
+	 */
+	public Long2ObjectMap<List<NetworkMemberNode>> getSegments() {
+		return segments;
+	}
+
+	/**
+	 * Returns the packed {@link ChunkPos} of every chunk containing at least one of this instance's nodes or members.
+	 */
+	public LongSet getChunks() {
+		return chunks.keySet();
+	}
+
+	private void track(long position) {
+		long chunk = getChunk(position);
+
+		if (this.chunks.addTo(chunk, 1) == 0 && this.component != null) {
+			this.component.indexChunk(this, chunk);
+		}
+	}
+
+	private void untrack(long position) {
+		long chunk = getChunk(position);
+
+		if (this.chunks.addTo(chunk, -1) == 1) {
+			this.chunks.remove(chunk);
+
+			if (this.component != null) {
+				this.component.unindexChunk(this, chunk);
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the chunk of the given segment is loaded, without loading it.
+	 */
+	public boolean isSegmentLoaded(long chunk) {
+		return this.world.getChunkManager().isChunkLoaded(ChunkPos.getPackedX(chunk), ChunkPos.getPackedZ(chunk));
+	}
+
+	public boolean isLoaded(BlockPos position) {
+		return isSegmentLoaded(getChunk(position.asLong()));
+	}
+
+	private static long getChunk(long position) {
+		return ChunkPos.toLong(BlockPos.unpackLongX(position) >> 4, BlockPos.unpackLongZ(position) >> 4);
+	}
+
 	public int size() {
 		return this.nodes.size();
 	}
 
+	public NetworkProfile getProfile() {
+		return profile;
+	}
+
 	@Override
 	public void tick() {
+		long start = System.nanoTime();
 		this.type.tick(this);
+		this.profile.time(System.nanoTime() - start);
+	}
+
+	public void prepare() {
+		long start = System.nanoTime();
+		this.type.prepare(this);
+		this.profile.time(System.nanoTime() - start);
+	}
+
+	public void compute() {
+		long start = System.nanoTime();
+		this.type.compute(this);
+		this.profile.time(System.nanoTime() - start);
+	}
+
+	public void apply() {
+		long start = System.nanoTime();
+		this.type.apply(this);
+		this.profile.time(System.nanoTime() - start);
 	}
 
 	@Override
@@ -126,8 +327,29 @@ public class NetworkInstance implements Iterable<NetworkNode>, Tickable {
 		return "NetworkInstance{" + "type=" + NetworkTypeRegistry.INSTANCE.getKey(type) + ", world=" + world.getRegistryKey().getValue() + ", members=" + members + ", nodes=" + nodes + ", additionalData=" + additionalData + '}';
 	}
 
-	public boolean isStupidlyEmpty() {
-		this.nodes.removeIf(node -> !NetworkMemberRegistry.get(WorldPos.of(world, node.getBlockPos()), null).isNode(getType()));
+	/**
+	 * Removes the nodes and members within the given loaded chunk which no longer belong to this instance's type, as
+	 * their blocks may have changed while it was unloaded, and returns whether this instance is left without nodes.
+	 */
+	public boolean validate(long chunk) {
+		for (NetworkNode node : this.nodes) {
+			if (getChunk(node.getPos()) == chunk && !NetworkMemberRegistry.get(WorldPos.of(world, node.getBlockPos()), null).isNode(getType())) {
+				removeNode(node);
+			}
+		}
+
+		List<NetworkMemberNode> segment = this.segments.get(chunk);
+
+		if (segment != null) {
+			for (NetworkMemberNode member : new ArrayList<>(segment)) {
+				NetworkMember networkMember = NetworkMemberRegistry.get(WorldPos.of(world, member.getBlockPos()), member.getDirection());
+
+				if (!networkMember.acceptsType(getType()) || !(networkMember.isRequester(getType()) || networkMember.isProvider(getType()) || networkMember.isBuffer(getType()))) {
+					removeMember(member);
+				}
+			}
+		}
+
 		if (this.nodes.isEmpty()) {
 			AstromineCommon.LOGGER.error("Network is empty! " + toString());
 			return true;
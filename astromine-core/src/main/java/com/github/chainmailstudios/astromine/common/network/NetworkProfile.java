@@ -0,0 +1,71 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.common.network;
+
+/**
+ * Tick metrics of a {@link NetworkInstance}, accumulated until they are read and reset by the network profile command.
+ */
+public class NetworkProfile {
+	private long nanos = 0L;
+	private int ticks = 0;
+	private long members = 0L;
+	private double moved = 0.0D;
+
+	public void time(long nanos) {
+		this.nanos += nanos;
+	}
+
+	/**
+	 * Records one tick of the network's type, with the amount of members it visited and the amount it moved.
+	 */
+	public void record(int members, double moved) {
+		this.ticks++;
+		this.members += members;
+		this.moved += moved;
+	}
+
+	public long getNanos() {
+		return nanos;
+	}
+
+	public int getTicks() {
+		return ticks;
+	}
+
+	public long getMembers() {
+		return members;
+	}
+
+	public double getMoved() {
+		return moved;
+	}
+
+	public void reset() {
+		this.nanos = 0L;
+		this.ticks = 0;
+		this.members = 0L;
+		this.moved = 0.0D;
+	}
+}
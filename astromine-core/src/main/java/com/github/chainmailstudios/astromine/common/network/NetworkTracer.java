@@ -37,8 +37,12 @@ import com.github.chainmailstudios.astromine.common.component.world.WorldNetwork
 import com.github.chainmailstudios.astromine.common.network.type.base.NetworkType;
 import com.github.chainmailstudios.astromine.common.registry.NetworkMemberRegistry;
 import com.github.chainmailstudios.astromine.common.utilities.data.position.WorldPos;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
 import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import it.unimi.dsi.fastutil.longs.LongSet;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayDeque;
 import java.util.Collections;
@@ -117,6 +121,213 @@ public class NetworkTracer {
 		}
 	}
 
+	/**
+	 * Applies local edits to existing {@link NetworkInstance}s instead of tracing them again from scratch: placed nodes
+	 * are unioned with the instances they touch, removed nodes only trigger a split check between their former
+	 * neighbours, and neighbour updates only re-scan the single member next to the changed position.
+	 */
+	public static class Updater {
+		public static final Updater INSTANCE = new Updater();
+
+		private Updater() {}
+
+		public void addNode(NetworkType type, WorldPos initialPosition) {
+			WorldNetworkComponent networkComponent = WorldNetworkComponent.get(initialPosition.getWorld());
+			NetworkMember initialMember = NetworkMemberRegistry.get(initialPosition, null);
+
+			if (!initialMember.acceptsType(type) || !initialMember.isNode(type) || networkComponent.containsInstance(type, initialPosition.getBlockPos())) {
+				return;
+			}
+
+			NetworkInstance instance = new NetworkInstance(initialPosition.getWorld(), type);
+			instance.addBlockPos(initialPosition.getBlockPos());
+			networkComponent.addInstance(instance);
+
+			ArrayDeque<WorldPos> positionsToScan = new ArrayDeque<>(Collections.singleton(initialPosition));
+
+			scanAll(networkComponent, instance, positionsToScan);
+		}
+
+		public void removeNode(NetworkType type, WorldPos initialPosition) {
+			WorldNetworkComponent networkComponent = WorldNetworkComponent.get(initialPosition.getWorld());
+			BlockPos position = initialPosition.getBlockPos();
+			NetworkInstance instance = networkComponent.getInstance(type, position);
+
+			if (instance == NetworkInstance.EMPTY) {
+				return;
+			}
+
+			instance.removeNode(NetworkNode.of(position));
+
+			LongList neighbours = new LongArrayList();
+
+			for (Direction direction : Direction.values()) {
+				BlockPos offsetPosition = position.offset(direction);
+
+				instance.removeMember(NetworkMemberNode.of(offsetPosition, direction.getOpposite()));
+
+				if (instance.nodes.contains(NetworkNode.of(offsetPosition))) {
+					neighbours.add(offsetPosition.asLong());
+				}
+			}
+
+			if (instance.nodes.isEmpty()) {
+				networkComponent.removeInstance(instance);
+			} else {
+				split(networkComponent, instance, neighbours);
+			}
+		}
+
+		public void updateNeighbour(NetworkType type, WorldPos initialPosition, BlockPos neighbourPosition) {
+			WorldNetworkComponent networkComponent = WorldNetworkComponent.get(initialPosition.getWorld());
+			NetworkInstance instance = networkComponent.getInstance(type, initialPosition.getBlockPos());
+
+			if (instance == NetworkInstance.EMPTY) {
+				addNode(type, initialPosition);
+				return;
+			}
+
+			for (Direction direction : Direction.values()) {
+				if (initialPosition.getBlockPos().offset(direction).equals(neighbourPosition)) {
+					ArrayDeque<WorldPos> positionsToScan = new ArrayDeque<>();
+
+					instance = scan(networkComponent, instance, initialPosition, direction, positionsToScan);
+
+					scanAll(networkComponent, instance, positionsToScan);
+					return;
+				}
+			}
+		}
+
+		private void scanAll(WorldNetworkComponent networkComponent, NetworkInstance instance, ArrayDeque<WorldPos> positionsToScan) {
+			while (!positionsToScan.isEmpty()) {
+				WorldPos position = positionsToScan.pop();
+
+				for (Direction direction : Direction.values()) {
+					instance = scan(networkComponent, instance, position, direction, positionsToScan);
+				}
+			}
+		}
+
+		private NetworkInstance scan(WorldNetworkComponent networkComponent, NetworkInstance instance, WorldPos position, Direction direction, ArrayDeque<WorldPos> positionsToScan) {
+			NetworkType type = instance.getType();
+
+			WorldPos offsetObject = position.offset(direction);
+			NetworkMember offsetMember = NetworkMemberRegistry.get(offsetObject, direction.getOpposite());
+			NetworkMemberNode memberNode = NetworkMemberNode.of(offsetObject.getBlockPos(), direction.getOpposite());
+
+			if (!offsetMember.acceptsType(type)) {
+				instance.removeMember(memberNode);
+				return instance;
+			}
+
+			if (offsetMember.isRequester(type) || offsetMember.isProvider(type) || offsetMember.isBuffer(type)) {
+				instance.addMember(memberNode);
+			} else {
+				instance.removeMember(memberNode);
+			}
+
+			if (offsetMember.isNode(type) && offsetObject.getBlock() == position.getBlock()) {
+				NetworkInstance offsetInstance = networkComponent.getInstance(type, offsetObject.getBlockPos());
+
+				if (offsetInstance == NetworkInstance.EMPTY) {
+					instance.addBlockPos(offsetObject.getBlockPos());
+					positionsToScan.addLast(offsetObject);
+				} else if (offsetInstance != instance) {
+					return merge(networkComponent, instance, offsetInstance);
+				}
+			}
+
+			return instance;
+		}
+
+		private NetworkInstance merge(WorldNetworkComponent networkComponent, NetworkInstance instanceA, NetworkInstance instanceB) {
+			NetworkInstance larger = instanceA.size() >= instanceB.size() ? instanceA : instanceB;
+			NetworkInstance smaller = larger == instanceA ? instanceB : instanceA;
+
+			networkComponent.removeInstance(smaller);
+			larger.join(smaller);
+
+			return larger;
+		}
+
+		private void split(WorldNetworkComponent networkComponent, NetworkInstance instance, LongList neighbours) {
+			while (neighbours.size() > 1) {
+				LongSet detached = flood(instance, neighbours);
+
+				if (detached == null) {
+					return;
+				}
+
+				NetworkInstance detachedInstance = new NetworkInstance(instance.getWorld(), instance.getType());
+
+				for (long position : detached) {
+					NetworkNode node = NetworkNode.of(position);
+
+					instance.removeNode(node);
+					detachedInstance.addNode(node);
+				}
+
+				for (NetworkMemberNode member : instance.members) {
+					if (detached.contains(BlockPos.offset(member.getPos(), member.getDirection()))) {
+						instance.removeMember(member);
+						detachedInstance.addMember(member);
+					}
+				}
+
+				networkComponent.addInstance(detachedInstance);
+
+				LongList remaining = new LongArrayList();
+
+				for (long position : neighbours) {
+					if (!detached.contains(position)) {
+						remaining.add(position);
+					}
+				}
+
+				neighbours = remaining;
+			}
+		}
+
+		/**
+		 * Flood-fills the nodes of the given instance, starting from the first neighbour.
+		 *
+		 * @return null if every neighbour was reached, or the complete set of reached positions otherwise.
+		 */
+		@Nullable
+		private LongSet flood(NetworkInstance instance, LongList neighbours) {
+			long initialPosition = neighbours.getLong(0);
+
+			LongSet tracedPositions = new LongOpenHashSet();
+			tracedPositions.add(initialPosition);
+			LongArrayFIFOQueue positionsToTrace = new LongArrayFIFOQueue();
+			positionsToTrace.enqueue(initialPosition);
+
+			int remaining = neighbours.size() - 1;
+
+			while (!positionsToTrace.isEmpty()) {
+				long position = positionsToTrace.dequeueLong();
+
+				for (Direction direction : Direction.values()) {
+					long offsetPosition = BlockPos.offset(position, direction);
+
+					if (tracedPositions.contains(offsetPosition) || !instance.nodes.contains(NetworkNode.of(offsetPosition))) {
+						continue;
+					}
+
+					tracedPositions.add(offsetPosition);
+					positionsToTrace.enqueue(offsetPosition);
+
+					if (neighbours.contains(offsetPosition) && --remaining == 0) {
+						return null;
+					}
+				}
+			}
+
+			return tracedPositions;
+		}
+	}
+
 	public static class Modeller {
 		private final Set<Direction> directions = new HashSet<>();
 
@@ -28,93 +28,362 @@ import net.minecraft.block.entity.BlockEntity;
 
 import com.github.chainmailstudios.astromine.common.block.transfer.TransferType;
 import com.github.chainmailstudios.astromine.common.component.block.entity.BlockEntityTransferComponent;
+import com.github.chainmailstudios.astromine.common.component.inventory.EnergyComponent;
 import com.github.chainmailstudios.astromine.common.network.NetworkInstance;
 import com.github.chainmailstudios.astromine.common.network.NetworkMember;
 import com.github.chainmailstudios.astromine.common.network.NetworkMemberNode;
+import com.github.chainmailstudios.astromine.common.network.NetworkPlan;
 import com.github.chainmailstudios.astromine.common.network.type.base.NetworkType;
 import com.github.chainmailstudios.astromine.common.registry.NetworkMemberRegistry;
 import com.github.chainmailstudios.astromine.common.utilities.data.position.WorldPos;
 import com.github.chainmailstudios.astromine.registry.AstromineComponents;
-import it.unimi.dsi.fastutil.objects.Reference2DoubleMap;
-import it.unimi.dsi.fastutil.objects.Reference2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import team.reborn.energy.Energy;
 import team.reborn.energy.EnergyHandler;
 
 import com.google.common.collect.Lists;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
+import com.google.common.collect.Sets;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Distributes energy by pooling the supply of every provider and the demand of every requester, then moving
+ * min(supply, demand) so that each side contributes in proportion to what it offered.
+ *
+ * <p>Members which both provide and request, such as batteries, are filled by the other providers first and only
+ * then supply the remaining requesters, so that they never move energy between themselves.
+ */
 public class EnergyNetworkType extends NetworkType {
 	@Override
 	public void tick(NetworkInstance instance) {
-		Reference2DoubleMap<EnergyHandler> providers = new Reference2DoubleOpenHashMap<>();
-		Reference2DoubleMap<EnergyHandler> requesters = new Reference2DoubleOpenHashMap<>();
+		prepare(instance);
+		compute(instance);
+		apply(instance);
+	}
 
-		for (NetworkMemberNode memberNode : instance.members) {
-			WorldPos memberPos = WorldPos.of(instance.getWorld(), memberNode.getBlockPos());
-			NetworkMember networkMember = NetworkMemberRegistry.get(memberPos, memberNode.getDirection());
-			BlockEntity blockEntity = memberPos.getBlockEntity();
+	@Override
+	public void prepare(NetworkInstance instance) {
+		TransferPlan plan = instance.getPlan();
 
-			WorldPos nodePosition = memberPos.offset(memberNode.getDirection());
+		if (plan == null || !plan.isValid()) {
+			plan = TransferPlan.of(this, instance);
 
-			double speed = nodePosition.getBlock() instanceof NodeSpeedProvider ? ((NodeSpeedProvider) nodePosition.getBlock()).getNodeSpeed() : 0.0D;
+			instance.setPlan(plan);
+		}
 
-			if (speed <= 0)
-				continue;
+		for (int i = 0; i < plan.providers.length; i++) {
+			EnergyHandler provider = plan.providers[i];
 
-			if (networkMember.acceptsType(this)) {
-				TransferType type = TransferType.NONE;
+			plan.available[i] = Math.min(provider.getEnergy(), provider.getMaxOutput());
+		}
 
-				BlockEntityTransferComponent transferComponent = BlockEntityTransferComponent.get(blockEntity);
+		for (int i = 0; i < plan.requesters.length; i++) {
+			EnergyHandler requester = plan.requesters[i];
 
-				if (transferComponent != null && transferComponent.get(AstromineComponents.ENERGY_INVENTORY_COMPONENT) != null) {
-					type = transferComponent.getEnergy(memberNode.getDirection());
-				}
+			plan.space[i] = Math.min(requester.getMaxStored() - requester.getEnergy(), requester.getMaxInput());
+		}
+	}
 
-				EnergyHandler volume = Energy.of(blockEntity).side(memberNode.getDirection());
+	@Override
+	public void compute(NetworkInstance instance) {
+		TransferPlan plan = instance.getPlan();
 
-				if (!type.isNone()) {
-					if (type.canExtract() && (networkMember.isProvider(this) || networkMember.isBuffer(this))) {
-						providers.put(volume, speed);
-					}
+		double[] supplies = plan.supplies;
+		double[] demands = plan.demands;
 
-					if (type.canInsert() && (networkMember.isRequester(this) || networkMember.isBuffer(this))) {
-						requesters.put(volume, speed);
-					}
-				}
+		double supply = 0.0D;
+
+		for (int i = 0; i < supplies.length; i++) {
+			supplies[i] = Math.max(0.0D, Math.min(plan.providerSpeeds[i], plan.available[i]));
+			supply += supplies[i];
+		}
+
+		double demand = 0.0D;
+
+		for (int i = 0; i < demands.length; i++) {
+			demands[i] = Math.max(0.0D, Math.min(plan.requesterSpeeds[i], plan.space[i]));
+			demand += demands[i];
+		}
+
+		plan.supply = supply;
+		plan.demand = demand;
+	}
+
+	@Override
+	public void apply(NetworkInstance instance) {
+		TransferPlan plan = instance.getPlan();
+
+		if (plan == null)
+			return;
+
+		double moved = 0.0D;
+
+		if (plan.supply > 0.0D && plan.demand > 0.0D) {
+			moved += distribute(plan, false, true);
+			moved += distribute(plan, true, false);
+		}
+
+		instance.getProfile().record(plan.providers.length + plan.requesters.length, moved);
+
+		if (moved <= 0.0D) {
+			plan.sleep(instance);
+		}
+	}
+
+	/**
+	 * Moves energy from the providers to the requesters selected by whether they are buffers, in one proportional
+	 * pass: every provider gives the same fraction of its supply, and exactly what was extracted is inserted with every
+	 * requester receiving the same fraction of its demand. Both sides are first clamped to what each member can still
+	 * give or take, as a member shared with another network may have changed since {@link #compute(NetworkInstance)};
+	 * anything a requester still refuses is returned to the providers it came from.
+	 *
+	 * @return the amount of energy moved.
+	 */
+	private static double distribute(TransferPlan plan, boolean providerBuffers, boolean requesterBuffers) {
+		double supply = 0.0D;
+
+		for (int i = 0; i < plan.providers.length; i++) {
+			if (plan.providerBuffers[i] == providerBuffers) {
+				EnergyHandler provider = plan.providers[i];
+
+				plan.supplies[i] = Math.max(0.0D, Math.min(plan.supplies[i], Math.min(provider.getEnergy(), provider.getMaxOutput())));
+				supply += plan.supplies[i];
 			}
 		}
 
-		List<EnergyHandler> requesterKeys = Lists.newArrayList(requesters.keySet());
-		requesterKeys.sort(Comparator.comparingDouble(EnergyHandler::getEnergy));
+		double demand = 0.0D;
+
+		for (int i = 0; i < plan.requesters.length; i++) {
+			if (requesterBuffers || !plan.requesterBuffers[i]) {
+				EnergyHandler requester = plan.requesters[i];
 
-		for (Reference2DoubleMap.Entry<EnergyHandler> inputEntry : providers.reference2DoubleEntrySet()) {
-			EnergyHandler input = inputEntry.getKey();
+				plan.demands[i] = Math.max(0.0D, Math.min(plan.demands[i], Math.min(requester.getMaxStored() - requester.getEnergy(), requester.getMaxInput())));
+				demand += plan.demands[i];
+			}
+		}
 
-			double inputSpeed = inputEntry.getDoubleValue();
+		if (supply <= 0.0D || demand <= 0.0D)
+			return 0.0D;
 
-			for (int i = requesterKeys.size() - 1; i >= 0; i--) {
-				EnergyHandler output = requesterKeys.get(i);
+		double providerRatio = Math.min(supply, demand) / supply;
+		double extracted = 0.0D;
 
-				double outputSpeed = requesters.getOrDefault(output, 0.0D);
+		for (int i = 0; i < plan.providers.length; i++) {
+			if (plan.providerBuffers[i] == providerBuffers && plan.supplies[i] > 0.0D) {
+				double taken = plan.providers[i].extract(plan.supplies[i] * providerRatio);
 
-				double a = inputSpeed / requesters.size();
-				double b = outputSpeed / requesters.size();
-				double c = input.getEnergy() / (i + 1);
-				double d = output.getMaxStored() - output.getEnergy();
-				double e = input.getMaxOutput();
-				double f = output.getMaxInput();
+				plan.supplies[i] -= taken;
+				plan.taken[i] = taken;
+				extracted += taken;
+			} else {
+				plan.taken[i] = 0.0D;
+			}
+		}
 
-				double speed = Collections.min(Arrays.asList(a, b, c, d, e, f));
+		double requesterRatio = Math.min(1.0D, extracted / demand);
+		double inserted = 0.0D;
 
-				input.into(output).move(speed);
+		for (int i = 0; i < plan.requesters.length; i++) {
+			if ((requesterBuffers || !plan.requesterBuffers[i]) && plan.demands[i] > 0.0D) {
+				double accepted = plan.requesters[i].insert(Math.min(plan.demands[i] * requesterRatio, extracted - inserted));
+
+				plan.demands[i] -= accepted;
+				inserted += accepted;
+			}
+		}
+
+		double refused = extracted - inserted;
+
+		if (refused > 0.0D) {
+			for (int i = 0; i < plan.providers.length; i++) {
+				if (plan.taken[i] > 0.0D) {
+					double returned = plan.providers[i].insert(refused * plan.taken[i] / extracted);
+
+					plan.supplies[i] += returned;
+				}
 			}
 		}
+
+		return inserted;
 	}
 
 	public interface NodeSpeedProvider {
 		double getNodeSpeed();
 	}
+
+	/**
+	 * The resolved providers and requesters of a {@link NetworkInstance}, compiled once and reused every tick until
+	 * the instance invalidates it or one of the block entities it was resolved from is removed. Each block entity is
+	 * resolved at most once as a provider and once as a requester, however many sides it is connected through.
+	 */
+	private static final class TransferPlan implements NetworkPlan {
+		private final BlockEntity[] blockEntities;
+
+		private final Set<EnergyComponent> components;
+		private final Runnable listener;
+
+		private final EnergyHandler[] providers;
+		private final double[] providerSpeeds;
+		private final boolean[] providerBuffers;
+
+		private final EnergyHandler[] requesters;
+		private final double[] requesterSpeeds;
+		private final boolean[] requesterBuffers;
+
+		private final double[] available;
+		private final double[] space;
+
+		private final double[] supplies;
+		private final double[] demands;
+
+		private final double[] taken;
+
+		private final boolean listening;
+
+		private double supply;
+		private double demand;
+
+		private TransferPlan(BlockEntity[] blockEntities, Set<EnergyComponent> components, Runnable listener, EnergyHandler[] providers, double[] providerSpeeds, boolean[] providerBuffers, EnergyHandler[] requesters, double[] requesterSpeeds, boolean[] requesterBuffers, boolean listening) {
+			this.blockEntities = blockEntities;
+			this.components = components;
+			this.listener = listener;
+			this.listening = listening;
+			this.providers = providers;
+			this.providerSpeeds = providerSpeeds;
+			this.providerBuffers = providerBuffers;
+			this.requesters = requesters;
+			this.requesterSpeeds = requesterSpeeds;
+			this.requesterBuffers = requesterBuffers;
+			this.available = new double[providers.length];
+			this.space = new double[requesters.length];
+			this.supplies = new double[providers.length];
+			this.demands = new double[requesters.length];
+			this.taken = new double[providers.length];
+		}
+
+		private static TransferPlan of(EnergyNetworkType networkType, NetworkInstance instance) {
+			List<BlockEntity> blockEntities = Lists.newArrayList();
+
+			Set<EnergyComponent> components = Sets.newIdentityHashSet();
+			Runnable listener = instance::wake;
+
+			List<EnergyHandler> providers = Lists.newArrayList();
+			DoubleList providerSpeeds = new DoubleArrayList();
+			Object2IntMap<BlockEntity> providerIndices = new Object2IntOpenHashMap<>();
+
+			List<EnergyHandler> requesters = Lists.newArrayList();
+			DoubleList requesterSpeeds = new DoubleArrayList();
+			Object2IntMap<BlockEntity> requesterIndices = new Object2IntOpenHashMap<>();
+
+			boolean listening = true;
+
+			for (Long2ObjectMap.Entry<List<NetworkMemberNode>> segment : instance.getSegments().long2ObjectEntrySet()) {
+				if (!instance.isSegmentLoaded(segment.getLongKey()))
+					continue;
+
+				for (NetworkMemberNode memberNode : segment.getValue()) {
+					WorldPos memberPos = WorldPos.of(instance.getWorld(), memberNode.getBlockPos());
+					NetworkMember networkMember = NetworkMemberRegistry.get(memberPos, memberNode.getDirection());
+					BlockEntity blockEntity = memberPos.getBlockEntity();
+
+					WorldPos nodePosition = memberPos.offset(memberNode.getDirection());
+
+					if (!instance.isLoaded(nodePosition.getBlockPos()))
+						continue;
+
+					double speed = nodePosition.getBlock() instanceof NodeSpeedProvider ? ((NodeSpeedProvider) nodePosition.getBlock()).getNodeSpeed() : 0.0D;
+
+					if (speed <= 0 || blockEntity == null || !Energy.valid(blockEntity))
+						continue;
+
+					if (networkMember.acceptsType(networkType)) {
+						TransferType type = TransferType.NONE;
+
+						BlockEntityTransferComponent transferComponent = BlockEntityTransferComponent.get(blockEntity);
+
+						if (transferComponent != null && transferComponent.get(AstromineComponents.ENERGY_INVENTORY_COMPONENT) != null) {
+							type = transferComponent.getEnergy(memberNode.getDirection());
+						}
+
+						if (!type.isNone()) {
+							if (type.canExtract() && (networkMember.isProvider(networkType) || networkMember.isBuffer(networkType))) {
+								if (providerIndices.containsKey(blockEntity)) {
+									int index = providerIndices.getInt(blockEntity);
+
+									providerSpeeds.set(index, Math.max(providerSpeeds.getDouble(index), speed));
+								} else {
+									providerIndices.put(blockEntity, providers.size());
+									providers.add(Energy.of(blockEntity).side(memberNode.getDirection()));
+									providerSpeeds.add(speed);
+								}
+							}
+
+							if (type.canInsert() && (networkMember.isRequester(networkType) || networkMember.isBuffer(networkType))) {
+								if (requesterIndices.containsKey(blockEntity)) {
+									int index = requesterIndices.getInt(blockEntity);
+
+									requesterSpeeds.set(index, Math.max(requesterSpeeds.getDouble(index), speed));
+								} else {
+									requesterIndices.put(blockEntity, requesters.size());
+									requesters.add(Energy.of(blockEntity).side(memberNode.getDirection()));
+									requesterSpeeds.add(speed);
+								}
+							}
+
+							blockEntities.add(blockEntity);
+
+							EnergyComponent energyComponent = EnergyComponent.get(blockEntity);
+
+							if (energyComponent == null) {
+								listening = false;
+							} else if (components.add(energyComponent)) {
+								energyComponent.addListener(listener);
+							}
+						}
+					}
+				}
+			}
+
+			boolean[] providerBuffers = new boolean[providers.size()];
+			boolean[] requesterBuffers = new boolean[requesters.size()];
+
+			for (Object2IntMap.Entry<BlockEntity> entry : providerIndices.object2IntEntrySet()) {
+				if (requesterIndices.containsKey(entry.getKey())) {
+					providerBuffers[entry.getIntValue()] = true;
+					requesterBuffers[requesterIndices.getInt(entry.getKey())] = true;
+				}
+			}
+
+			return new TransferPlan(blockEntities.toArray(new BlockEntity[0]), components, listener, providers.toArray(new EnergyHandler[0]), providerSpeeds.toDoubleArray(), providerBuffers, requesters.toArray(new EnergyHandler[0]), requesterSpeeds.toDoubleArray(), requesterBuffers, listening);
+		}
+
+		private void sleep(NetworkInstance instance) {
+			if (listening) {
+				instance.sleep();
+			} else {
+				instance.sleep(DORMANT_POLL_TICKS);
+			}
+		}
+
+		private boolean isValid() {
+			for (BlockEntity blockEntity : blockEntities) {
+				if (blockEntity.isRemoved()) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		@Override
+		public void release() {
+			for (EnergyComponent component : components) {
+				component.removeListener(listener);
+			}
+		}
+	}
 }
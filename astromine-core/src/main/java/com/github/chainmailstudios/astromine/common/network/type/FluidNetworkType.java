@@ -25,13 +25,13 @@
 package com.github.chainmailstudios.astromine.common.network.type;
 
 import alexiil.mc.lib.attributes.SearchOptions;
-import alexiil.mc.lib.attributes.Simulation;
 import alexiil.mc.lib.attributes.fluid.FluidAttributes;
 import alexiil.mc.lib.attributes.fluid.FluidVolumeUtil;
 import alexiil.mc.lib.attributes.fluid.GroupedFluidInv;
 import alexiil.mc.lib.attributes.fluid.amount.FluidAmount;
+import alexiil.mc.lib.attributes.fluid.filter.ExactFluidFilter;
+import alexiil.mc.lib.attributes.fluid.filter.FluidFilter;
 import alexiil.mc.lib.attributes.fluid.volume.FluidKey;
-import alexiil.mc.lib.attributes.fluid.volume.FluidVolume;
 import alexiil.mc.lib.attributes.misc.NullVariant;
 import com.github.chainmailstudios.astromine.common.block.transfer.TransferType;
 import com.github.chainmailstudios.astromine.common.component.block.entity.BlockEntityTransferComponent;
@@ -39,18 +39,26 @@ import com.github.chainmailstudios.astromine.common.component.inventory.FluidCom
 import com.github.chainmailstudios.astromine.common.network.NetworkInstance;
 import com.github.chainmailstudios.astromine.common.network.NetworkMember;
 import com.github.chainmailstudios.astromine.common.network.NetworkMemberNode;
+import com.github.chainmailstudios.astromine.common.network.NetworkPlan;
 import com.github.chainmailstudios.astromine.common.network.type.base.NetworkType;
 import com.github.chainmailstudios.astromine.common.registry.NetworkMemberRegistry;
 import com.github.chainmailstudios.astromine.common.utilities.data.position.WorldPos;
-import com.github.chainmailstudios.astromine.common.volume.fraction.Fraction;
-import com.github.chainmailstudios.astromine.registry.AstromineComponents;
+import com.github.chainmailstudios.astromine.common.volume.fluid.FluidVolume;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
 import net.minecraft.block.entity.BlockEntity;
-import net.minecraft.util.math.Direction;
+import net.minecraft.fluid.Fluid;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class FluidNetworkType extends NetworkType {
 	private FluidAmount inputSpeed = FluidAmount.of(1, 20);
@@ -58,66 +66,365 @@ public class FluidNetworkType extends NetworkType {
 
 	@Override
 	public void tick(NetworkInstance instance) {
-		List<GroupedFluidInv> providers = Lists.newArrayList();
-		List<GroupedFluidInv> requesters = Lists.newArrayList();
+		prepare(instance);
+		compute(instance);
+		apply(instance);
+	}
+
+	@Override
+	public void prepare(NetworkInstance instance) {
+		TransferPlan plan = instance.getPlan();
+
+		if (plan == null || !plan.isValid()) {
+			plan = TransferPlan.of(this, instance);
+
+			instance.setPlan(plan);
+		} else if (plan.changed) {
+			plan.regroup();
+		}
+
+		plan.fluids.clear();
+
+		if (plan.providers.length == 0 || plan.requesters.length == 0)
+			return;
+
+		for (GroupedFluidInv provider : plan.providers) {
+			for (FluidKey providerStoredFluid : provider.getStoredFluids()) {
+				if (providerStoredFluid.getRawFluid() != null) {
+					plan.fluids.add(providerStoredFluid);
+				}
+			}
+		}
+
+		for (FluidKey fluid : plan.fluids) {
+			FluidGroup group = plan.getGroup(fluid);
+
+			for (int i = 0; i < group.requesters.length; i++) {
+				GroupedFluidInv requester = group.requesters[i];
+
+				group.capacities[i] = requester.getCapacity_F(fluid);
+				group.amounts[i] = requester.getAmount_F(fluid);
+			}
+		}
+	}
+
+	@Override
+	public void compute(NetworkInstance instance) {
+		TransferPlan plan = instance.getPlan();
+
+		for (FluidKey fluid : plan.fluids) {
+			FluidGroup group = plan.groups.get(fluid);
+
+			for (int i = 0; i < group.requesters.length; i++) {
+				group.demands[i] = min(outputSpeed, group.capacities[i].sub(group.amounts[i]));
+			}
+		}
+	}
+
+	@Override
+	public void apply(NetworkInstance instance) {
+		TransferPlan plan = instance.getPlan();
+
+		if (plan == null)
+			return;
 
-		for (NetworkMemberNode memberNode : instance.members) {
-			WorldPos memberPos = WorldPos.of(instance.getWorld(), memberNode.getBlockPos());
-			NetworkMember networkMember = NetworkMemberRegistry.get(memberPos, memberNode.getDirection());
+		FluidAmount moved = FluidAmount.ZERO;
 
-			if (networkMember.acceptsType(this)) {
-				GroupedFluidInv inv = FluidAttributes.GROUPED_INV.get(memberPos.getWorld(), memberPos.getBlockPos(), SearchOptions.inDirection(memberNode.getDirection().getOpposite()));
-				if (inv instanceof NullVariant)
+		for (FluidKey fluid : plan.fluids) {
+			moved = moved.add(distribute(plan, plan.groups.get(fluid)));
+		}
+
+		plan.offset++;
+
+		instance.getProfile().record(plan.providers.length + plan.requesters.length, moved.asInexactDouble());
+
+		if (moved.compareTo(FluidAmount.ZERO) <= 0) {
+			plan.sleep(instance);
+		}
+	}
+
+	/**
+	 * Moves a single fluid from every provider to the requesters that accept it. Each provider makes its own pass over
+	 * the requesters, resuming where the previous provider stopped, and starting at a rotating offset so that no
+	 * requester is favoured when supply is short. A requester is done for the tick once its demand is met or a move
+	 * into it fails; one sharing the provider's owner is only skipped by that provider.
+	 *
+	 * @return the amount of fluid moved.
+	 */
+	private FluidAmount distribute(TransferPlan plan, FluidGroup group) {
+		GroupedFluidInv[] requesters = group.requesters;
+		FluidAmount[] demands = group.demands;
+		boolean[] done = group.done;
+
+		if (requesters.length == 0)
+			return FluidAmount.ZERO;
+
+		FluidKey fluid = group.fluid;
+
+		FluidAmount total = FluidAmount.ZERO;
+
+		int cursor = Math.floorMod(plan.offset, requesters.length);
+		int remaining = requesters.length;
+
+		Arrays.fill(done, false);
+
+		for (int j = 0; j < plan.providers.length && remaining > 0; j++) {
+			GroupedFluidInv provider = plan.providers[j];
+
+			FluidAmount offer = min(inputSpeed, provider.getAmount_F(fluid));
+
+			int start = cursor;
+
+			for (int k = 0; k < requesters.length && offer.compareTo(FluidAmount.ZERO) > 0 && remaining > 0; k++) {
+				int i = (start + k) % requesters.length;
+
+				if (done[i] || group.owners[i] == plan.providerOwners[j])
 					continue;
 
-				@Nullable
-				BlockEntity blockEntity = memberPos.getBlockEntity();
-				TransferType type = TransferType.NONE;
+				FluidAmount moved = demands[i].compareTo(FluidAmount.ZERO) > 0 ? FluidVolumeUtil.move(provider, requesters[i], group.filter, min(offer, demands[i])).getAmount_F() : FluidAmount.ZERO;
 
-				BlockEntityTransferComponent transferComponent = BlockEntityTransferComponent.get(blockEntity);
+				offer = offer.sub(moved);
+				demands[i] = demands[i].sub(moved);
 
-				if (transferComponent != null) {
-					type = transferComponent.getFluid(memberNode.getDirection());
+				total = total.add(moved);
+
+				if (moved.compareTo(FluidAmount.ZERO) <= 0 || demands[i].compareTo(FluidAmount.ZERO) <= 0) {
+					done[i] = true;
+					remaining--;
+				} else {
+					cursor = i;
 				}
+			}
+		}
 
-				if (!type.isNone()) {
-					if (type.canExtract() && (networkMember.isProvider(this) || networkMember.isBuffer(this))) {
-						providers.add(inv);
-					}
+		return total;
+	}
+
+	private static FluidAmount min(FluidAmount a, FluidAmount b) {
+		return a.compareTo(b) <= 0 ? a : b;
+	}
+
+	/**
+	 * The resolved fluid inventories of a {@link NetworkInstance}, compiled once and reused every tick until the
+	 * instance invalidates it or one of the block entities it was resolved from is removed. Requesters are grouped by
+	 * the fluids they accept the first time each fluid is seen, and regrouped when the fluids stored by a requester
+	 * change, as its insertion filter depends on them. Requesters which cannot notify the plan are regrouped whenever
+	 * the instance goes dormant.
+	 */
+	private static final class TransferPlan implements NetworkPlan {
+		private final GroupedFluidInv[] providers;
+		private final long[] providerOwners;
+
+		private final GroupedFluidInv[] requesters;
+		private final long[] requesterOwners;
+
+		private final List<BlockEntity> blockEntities;
+
+		private final Set<FluidComponent> components;
+		private final List<FluidComponent> requesterComponents;
+		private final List<Fluid> requesterFluids = Lists.newArrayList();
+
+		private final Runnable listener;
 
-					if (type.canInsert() && (networkMember.isRequester(this) || networkMember.isBuffer(this))) {
-						requesters.add(inv);
+		private final Map<FluidKey, FluidGroup> groups = new Object2ObjectOpenHashMap<>();
+		private final Set<FluidKey> fluids = new ObjectOpenHashSet<>();
+
+		private final boolean listening;
+
+		private boolean changed = false;
+
+		private int offset = 0;
+
+		private TransferPlan(NetworkInstance instance, GroupedFluidInv[] providers, long[] providerOwners, GroupedFluidInv[] requesters, long[] requesterOwners, List<BlockEntity> blockEntities, Set<FluidComponent> components, List<FluidComponent> requesterComponents, boolean listening) {
+			this.listening = listening;
+			this.providers = providers;
+			this.providerOwners = providerOwners;
+			this.requesters = requesters;
+			this.requesterOwners = requesterOwners;
+			this.blockEntities = blockEntities;
+			this.components = components;
+			this.requesterComponents = requesterComponents;
+			this.listener = () -> {
+				this.changed = true;
+
+				instance.wake();
+			};
+
+			snapshot(requesterFluids);
+
+			for (FluidComponent component : components) {
+				component.addListener(listener);
+			}
+		}
+
+		private static TransferPlan of(FluidNetworkType networkType, NetworkInstance instance) {
+			List<GroupedFluidInv> providers = Lists.newArrayList();
+			LongList providerOwners = new LongArrayList();
+
+			List<GroupedFluidInv> requesters = Lists.newArrayList();
+			LongList requesterOwners = new LongArrayList();
+
+			List<BlockEntity> blockEntities = Lists.newArrayList();
+
+			Set<FluidComponent> components = Sets.newIdentityHashSet();
+			List<FluidComponent> requesterComponents = Lists.newArrayList();
+
+			boolean listening = true;
+
+			for (Long2ObjectMap.Entry<List<NetworkMemberNode>> segment : instance.getSegments().long2ObjectEntrySet()) {
+				if (!instance.isSegmentLoaded(segment.getLongKey()))
+					continue;
+
+				for (NetworkMemberNode memberNode : segment.getValue()) {
+					WorldPos memberPos = WorldPos.of(instance.getWorld(), memberNode.getBlockPos());
+					NetworkMember networkMember = NetworkMemberRegistry.get(memberPos, memberNode.getDirection());
+
+					if (networkMember.acceptsType(networkType)) {
+						GroupedFluidInv inv = FluidAttributes.GROUPED_INV.get(memberPos.getWorld(), memberPos.getBlockPos(), SearchOptions.inDirection(memberNode.getDirection().getOpposite()));
+						if (inv instanceof NullVariant)
+							continue;
+
+						@Nullable
+						BlockEntity blockEntity = memberPos.getBlockEntity();
+						TransferType type = TransferType.NONE;
+
+						BlockEntityTransferComponent transferComponent = BlockEntityTransferComponent.get(blockEntity);
+
+						if (transferComponent != null) {
+							type = transferComponent.getFluid(memberNode.getDirection());
+						}
+
+						if (!type.isNone()) {
+							long owner = memberNode.getPos();
+
+							FluidComponent fluidComponent = blockEntity != null ? FluidComponent.get(blockEntity) : null;
+
+							if (type.canExtract() && (networkMember.isProvider(networkType) || networkMember.isBuffer(networkType))) {
+								providers.add(inv);
+								providerOwners.add(owner);
+							}
+
+							if (type.canInsert() && (networkMember.isRequester(networkType) || networkMember.isBuffer(networkType))) {
+								requesters.add(inv);
+								requesterOwners.add(owner);
+
+								if (fluidComponent != null && !requesterComponents.contains(fluidComponent)) {
+									requesterComponents.add(fluidComponent);
+								}
+							}
+
+							if (blockEntity != null) {
+								blockEntities.add(blockEntity);
+							}
+
+							if (fluidComponent == null) {
+								listening = false;
+							} else {
+								components.add(fluidComponent);
+							}
+						}
 					}
 				}
 			}
+
+			return new TransferPlan(instance, providers.toArray(new GroupedFluidInv[0]), providerOwners.toLongArray(), requesters.toArray(new GroupedFluidInv[0]), requesterOwners.toLongArray(), blockEntities, components, requesterComponents, listening);
+		}
+
+		private void sleep(NetworkInstance instance) {
+			if (listening) {
+				instance.sleep();
+			} else {
+				groups.clear();
+
+				instance.sleep(DORMANT_POLL_TICKS);
+			}
+		}
+
+		/**
+		 * Drops the cached groups if the fluids stored by any requester changed since they were built.
+		 */
+		private void regroup() {
+			changed = false;
+
+			List<Fluid> current = Lists.newArrayListWithCapacity(requesterFluids.size());
+
+			snapshot(current);
+
+			if (!current.equals(requesterFluids)) {
+				requesterFluids.clear();
+				requesterFluids.addAll(current);
+
+				groups.clear();
+			}
+		}
+
+		private void snapshot(List<Fluid> fluids) {
+			for (FluidComponent component : requesterComponents) {
+				for (FluidVolume volume : component.getContents().values()) {
+					fluids.add(volume.getFluid());
+				}
+			}
 		}
 
-		for (GroupedFluidInv provider : providers) {
-			for (FluidKey providerStoredFluid : provider.getStoredFluids()) {
-				if (providerStoredFluid.getRawFluid() == null) continue;
+		private boolean isValid() {
+			for (BlockEntity blockEntity : blockEntities) {
+				if (blockEntity.isRemoved()) {
+					return false;
+				}
+			}
 
-				List<GroupedFluidInv> requestersFiltered = requesters.stream()
-						.filter(inventory -> {
-							FluidVolume fluidVolume = providerStoredFluid.withAmount(provider.getAmount_F(providerStoredFluid));
+			return true;
+		}
 
-							return !inventory.attemptInsertion(fluidVolume, Simulation.SIMULATE).equals(fluidVolume);
-						})
-						.sorted(Comparator.comparing(inventory -> inventory.getAmount_F(providerStoredFluid)))
-						.collect(Collectors.toList());
+		@Override
+		public void release() {
+			for (FluidComponent component : components) {
+				component.removeListener(listener);
+			}
+		}
 
-				for (int i = requestersFiltered.size() - 1; i >= 0; i--) {
-					GroupedFluidInv requester = requestersFiltered.get(i);
+		private FluidGroup getGroup(FluidKey fluid) {
+			FluidGroup group = groups.get(fluid);
 
-					FluidAmount speed = Collections.min(Arrays.asList(
-							inputSpeed.div(requestersFiltered.size()),
-							outputSpeed.div(requestersFiltered.size()),
-							provider.getAmount_F(providerStoredFluid).div(i + 1),
-							requester.getCapacity_F(providerStoredFluid).sub(requester.getAmount_F(providerStoredFluid))
-					));
+			if (group == null) {
+				List<GroupedFluidInv> accepting = Lists.newArrayList();
+				LongList owners = new LongArrayList();
 
-					FluidVolumeUtil.move(provider, requester, speed);
+				for (int i = 0; i < requesters.length; i++) {
+					if (requesters[i].getInsertionFilter().matches(fluid)) {
+						accepting.add(requesters[i]);
+						owners.add(requesterOwners[i]);
+					}
 				}
+
+				group = new FluidGroup(fluid, accepting.toArray(new GroupedFluidInv[0]), owners.toLongArray());
+				groups.put(fluid, group);
 			}
+
+			return group;
+		}
+	}
+
+	private static final class FluidGroup {
+		private final FluidKey fluid;
+		private final FluidFilter filter;
+
+		private final GroupedFluidInv[] requesters;
+		private final long[] owners;
+		private final FluidAmount[] capacities;
+		private final FluidAmount[] amounts;
+		private final FluidAmount[] demands;
+		private final boolean[] done;
+
+		private FluidGroup(FluidKey fluid, GroupedFluidInv[] requesters, long[] owners) {
+			this.fluid = fluid;
+			this.filter = new ExactFluidFilter(fluid);
+			this.requesters = requesters;
+			this.owners = owners;
+			this.capacities = new FluidAmount[requesters.length];
+			this.amounts = new FluidAmount[requesters.length];
+			this.demands = new FluidAmount[requesters.length];
+			this.done = new boolean[requesters.length];
 		}
 	}
-}
\ No newline at end of file
+}
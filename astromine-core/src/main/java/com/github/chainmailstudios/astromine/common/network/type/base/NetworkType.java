@@ -29,6 +29,11 @@ import com.github.chainmailstudios.astromine.common.network.NetworkInstance;
 import com.github.chainmailstudios.astromine.common.registry.NetworkTypeRegistry;
 
 public abstract class NetworkType {
+	/**
+	 * Amount of ticks a dormant instance waits before polling members which cannot wake it.
+	 */
+	public static final int DORMANT_POLL_TICKS = 20;
+
 	public static final NetworkType EMPTY = NetworkTypeRegistry.INSTANCE.register(AstromineCommon.identifier("empty_network"), new NetworkType() {
 		@Override
 		public void tick(NetworkInstance instance) {
@@ -37,4 +42,28 @@ public abstract class NetworkType {
 	});
 
 	public abstract void tick(NetworkInstance instance);
+
+	/**
+	 * Runs on the server thread before {@link #compute(NetworkInstance)}, and should resolve everything that requires
+	 * world access, copying any block entity or component state that {@link #compute(NetworkInstance)} needs.
+	 */
+	public void prepare(NetworkInstance instance) {
+
+	}
+
+	/**
+	 * Computes this tick's transfers without mutating anything outside of the instance. May run off the server thread,
+	 * concurrently with other instances, so it must only work on the values copied by {@link #prepare(NetworkInstance)}.
+	 */
+	public void compute(NetworkInstance instance) {
+
+	}
+
+	/**
+	 * Applies the transfers computed by {@link #compute(NetworkInstance)} on the server thread. Types which do not
+	 * split their work into phases simply tick here.
+	 */
+	public void apply(NetworkInstance instance) {
+		tick(instance);
+	}
 }
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.common.utilities;
+
+import java.util.Arrays;
+
+/**
+ * Utilities for packing variable-length integers into a {@code long[]}, for storage in a
+ * {@link net.minecraft.nbt.LongArrayTag}. Bytes are stored little-endian, eight per long.
+ */
+public class PackingUtilities {
+	public static class Writer {
+		private long[] data = new long[4];
+
+		private int size = 0;
+
+		public void writeByte(int value) {
+			int index = size >> 3;
+
+			if (index == data.length) {
+				data = Arrays.copyOf(data, data.length * 2);
+			}
+
+			data[index] |= (value & 0xFFL) << ((size & 7) << 3);
+
+			++size;
+		}
+
+		public void writeVarInt(int value) {
+			while ((value & ~0x7F) != 0) {
+				writeByte((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+
+			writeByte(value);
+		}
+
+		/** Writes a signed integer, zigzag-encoded so that small negative values stay short. */
+		public void writeSignedVarInt(int value) {
+			writeVarInt((value << 1) ^ (value >> 31));
+		}
+
+		public long[] toArray() {
+			return Arrays.copyOf(data, (size + 7) >> 3);
+		}
+	}
+
+	public static class Reader {
+		private final long[] data;
+
+		private int position = 0;
+
+		public Reader(long[] data) {
+			this.data = data;
+		}
+
+		public int readByte() {
+			int index = position >> 3;
+
+			if (index >= data.length) {
+				throw new IllegalStateException("Packed data ended after " + position + " bytes!");
+			}
+
+			int value = (int) (data[index] >>> ((position & 7) << 3)) & 0xFF;
+
+			++position;
+
+			return value;
+		}
+
+		public int readVarInt() {
+			int value = 0;
+			int shift = 0;
+
+			int read;
+
+			do {
+				if (shift > 28) {
+					throw new IllegalStateException("Packed variable-length integer is too long!");
+				}
+
+				read = readByte();
+				value |= (read & 0x7F) << shift;
+				shift += 7;
+			} while ((read & 0x80) != 0);
+
+			return value;
+		}
+
+		public int readSignedVarInt() {
+			int value = readVarInt();
+
+			return (value >>> 1) ^ -(value & 1);
+		}
+	}
+}
@@ -24,8 +24,6 @@
 
 package com.github.chainmailstudios.astromine.mixin;
 
-import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
-
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
@@ -36,9 +34,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.data.DataTracker;
-import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.fluid.Fluid;
-import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.tag.Tag;
 import net.minecraft.util.math.BlockPos;
@@ -48,8 +44,6 @@ import net.minecraft.world.TeleportTarget;
 import net.minecraft.world.World;
 
 import com.github.chainmailstudios.astromine.access.EntityAccess;
-import com.github.chainmailstudios.astromine.client.cca.ClientAtmosphereManager;
-import com.github.chainmailstudios.astromine.common.component.world.ChunkAtmosphereComponent;
 import com.github.chainmailstudios.astromine.common.entity.GravityEntity;
 import com.github.chainmailstudios.astromine.common.registry.DimensionLayerRegistry;
 import com.github.chainmailstudios.astromine.registry.AstromineTags;
@@ -69,7 +63,6 @@ public abstract class EntityMixin implements GravityEntity, EntityAccess {
 	private int astromine_lastY = 0;
 	private Entity astromine_lastVehicle = null;
 	private TeleportTarget astromine_nextTeleportTarget = null;
-	private World astromine_lastWorld = null;
 
 	@Shadow
 	public abstract BlockPos getBlockPos();
@@ -158,22 +151,6 @@ public abstract class EntityMixin implements GravityEntity, EntityAccess {
 		}
 	}
 
-	@Inject(at = @At("HEAD"), method = "tick()V")
-	void astromine_tick(CallbackInfo ci) {
-		// TODO Make this sync all visible chunks around the player.
-		if (((Entity) (Object) this) instanceof ServerPlayerEntity && world != astromine_lastWorld) {
-			astromine_lastWorld = world;
-
-			ServerSidePacketRegistry.INSTANCE.sendToPlayer(((PlayerEntity) (Object) this), ClientAtmosphereManager.GAS_ERASED, ClientAtmosphereManager.ofGasErased());
-
-			ChunkAtmosphereComponent atmosphereComponent = ChunkAtmosphereComponent.get(world.getChunk(getBlockPos()));
-
-			atmosphereComponent.getVolumes().forEach(((blockPos, volume) -> {
-				ServerSidePacketRegistry.INSTANCE.sendToPlayer(((PlayerEntity) (Object) this), ClientAtmosphereManager.GAS_ADDED, ClientAtmosphereManager.ofGasAdded(blockPos, volume));
-			}));
-		}
-	}
-
 	@Inject(method = "updateWaterState", at = @At("RETURN"), cancellable = true)
 	private void astromine_updateIndustrialFluidState(CallbackInfoReturnable<Boolean> cir) {
 		if (this.updateMovementInFluid(AstromineTags.INDUSTRIAL_FLUID, 0.014)) {
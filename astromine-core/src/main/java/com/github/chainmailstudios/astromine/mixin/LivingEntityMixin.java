@@ -44,14 +44,20 @@ import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.attribute.DefaultAttributeContainer;
 import net.minecraft.entity.attribute.EntityAttribute;
 import net.minecraft.fluid.Fluid;
+import net.minecraft.fluid.Fluids;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
 import net.minecraft.tag.Tag;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.registry.Registry;
+import net.minecraft.world.World;
 
+import com.github.chainmailstudios.astromine.AstromineCommon;
 import com.github.chainmailstudios.astromine.common.component.entity.EntityOxygenComponent;
 import com.github.chainmailstudios.astromine.common.component.inventory.FluidComponent;
 import com.github.chainmailstudios.astromine.common.component.world.ChunkAtmosphereComponent;
@@ -63,7 +69,7 @@ import com.github.chainmailstudios.astromine.registry.AstromineAttributes;
 import com.github.chainmailstudios.astromine.registry.AstromineDimensions;
 import com.github.chainmailstudios.astromine.registry.AstromineTags;
 
-import java.util.Optional;
+import java.util.function.Consumer;
 
 @Mixin(LivingEntity.class)
 public abstract class LivingEntityMixin extends EntityMixin implements GravityEntity {
@@ -90,6 +96,58 @@ public abstract class LivingEntityMixin extends EntityMixin implements GravityEn
 		return getAttributeValue(AstromineAttributes.GRAVITY_MULTIPLIER);
 	}
 
+	@Unique
+	private static Item[] astromine_spaceSuit;
+
+	@Unique
+	private final ItemStack[] astromine_armorStacks = new ItemStack[4];
+
+	@Unique
+	private final Item[] astromine_armorItems = new Item[4];
+
+	@Unique
+	private boolean astromine_hasSuit = false;
+
+	@Unique
+	private ItemStack astromine_suitChestplate = ItemStack.EMPTY;
+
+	@Unique
+	private Fluid astromine_suitFluid = null;
+
+	@Unique
+	private boolean astromine_canBreatheSuit = false;
+
+	@Unique
+	private ChunkAtmosphereComponent astromine_atmosphereComponent = null;
+
+	@Unique
+	private World astromine_atmosphereWorld = null;
+
+	@Unique
+	private long astromine_atmospherePos = Long.MIN_VALUE;
+
+	@Unique
+	private int astromine_atmosphereVersion = -1;
+
+	@Unique
+	private Fluid astromine_atmosphereFluid = Fluids.EMPTY;
+
+	@Unique
+	private boolean astromine_canBreatheAtmosphere = true;
+
+	/**
+	 * Returns the space suit helmet, chestplate, leggings and boots, resolved once so that armor can be compared by
+	 * identity. Pieces which are not registered resolve to air, which no worn stack matches.
+	 */
+	@Unique
+	private static Item[] astromine_getSpaceSuit() {
+		if (astromine_spaceSuit == null) {
+			astromine_spaceSuit = new Item[] { Registry.ITEM.get(AstromineCommon.identifier("space_suit_helmet")), Registry.ITEM.get(AstromineCommon.identifier("space_suit_chestplate")), Registry.ITEM.get(AstromineCommon.identifier("space_suit_leggings")), Registry.ITEM.get(AstromineCommon.identifier("space_suit_boots")) };
+		}
+
+		return astromine_spaceSuit;
+	}
+
 	@Inject(at = @At("HEAD"), method = "tick()V")
 	void onTick(CallbackInfo callbackInformation) {
 		Entity entity = (Entity) (Object) this;
@@ -97,112 +155,192 @@ public abstract class LivingEntityMixin extends EntityMixin implements GravityEn
 			return;
 
 		if (!entity.getType().isIn(AstromineTags.DOES_NOT_BREATHE)) {
-			ChunkAtmosphereComponent atmosphereComponent = ChunkAtmosphereComponent.get(entity.world.getChunk(entity.getBlockPos()));
-
-			if (atmosphereComponent != null) {
-				FluidVolume atmosphereVolume;
+			if (!astromine_updateAtmosphere(entity))
+				return;
 
-				if (!AstromineDimensions.isAstromine(entity.world.getRegistryKey())) {
-					atmosphereVolume = atmosphereComponent.get(entity.getBlockPos().offset(Direction.UP));
+			boolean isSubmerged = false;
 
-					if (atmosphereVolume.isEmpty()) {
-						atmosphereVolume = FluidVolume.oxygen();
-					}
-				} else {
-					atmosphereVolume = atmosphereComponent.get(entity.getBlockPos().offset(Direction.UP));
-				}
+			Box collisionBox = entity.getBoundingBox();
 
-				boolean isSubmerged = false;
+			BlockPos.Mutable blockPos = new BlockPos.Mutable();
 
-				Box collisionBox = entity.getBoundingBox();
+			for (int x = MathHelper.floor(collisionBox.minX); x <= MathHelper.floor(collisionBox.maxX); ++x) {
+				for (int y = MathHelper.floor(collisionBox.minY); y <= MathHelper.floor(collisionBox.maxY); ++y) {
+					for (int z = MathHelper.floor(collisionBox.minZ); z <= MathHelper.floor(collisionBox.maxZ); ++z) {
+						BlockState blockState = entity.world.getBlockState(blockPos.set(x, y, z));
 
-				for (BlockPos blockPos : (Iterable<BlockPos>) () -> BlockPos.stream(collisionBox).iterator()) {
-					BlockState blockState = entity.world.getBlockState(blockPos);
+						if (blockState.getBlock() instanceof FluidBlock) {
+							isSubmerged = true;
 
-					if (blockState.getBlock() instanceof FluidBlock) {
-						isSubmerged = true;
+							Consumer<LivingEntity> effect = FluidEffectRegistry.INSTANCE.get(blockState.getFluidState().getFluid());
 
-						Optional.ofNullable(FluidEffectRegistry.INSTANCE.get(blockState.getFluidState().getFluid())).ifPresent(it -> it.accept((LivingEntity) (Object) this));
+							if (effect != null) {
+								effect.accept((LivingEntity) (Object) this);
+							}
+						}
 					}
 				}
+			}
 
-				if (!isSubmerged) {
-					boolean isBreathing = true;
+			if (!isSubmerged) {
+				boolean isBreathing = true;
 
-					EntityOxygenComponent oxygenComponent = EntityOxygenComponent.get(entity);
+				EntityOxygenComponent oxygenComponent = EntityOxygenComponent.get(entity);
 
-					if (oxygenComponent != null) {
-						boolean hasHelmet = false;
-						boolean hasChestplate = false;
-						boolean hasLeggings = false;
-						boolean hasBoots = false;
+				if (oxygenComponent != null) {
+					astromine_updateArmor();
 
-						for (ItemStack stack : getArmorItems()) {
-							if (!stack.isEmpty()) {
-								if (Registry.ITEM.getId(stack.getItem()).toString().equals("astromine:space_suit_helmet")) {
-									hasHelmet = true;
-								}
-								if (Registry.ITEM.getId(stack.getItem()).toString().equals("astromine:space_suit_chestplate")) {
-									hasChestplate = true;
-								}
-								if (Registry.ITEM.getId(stack.getItem()).toString().equals("astromine:space_suit_leggings")) {
-									hasLeggings = true;
-								}
-								if (Registry.ITEM.getId(stack.getItem()).toString().equals("astromine:space_suit_boots")) {
-									hasBoots = true;
-								}
-							}
-						}
+					boolean hasSuit = astromine_hasSuit;
+
+					if (!astromine_suitChestplate.isEmpty()) { // TODO: Properly verify for Space Suit.
+						FluidComponent fluidComponent = FluidComponent.get(astromine_suitChestplate);
 
-						boolean hasSuit = hasHelmet && hasChestplate && hasLeggings && hasBoots;
+						if (fluidComponent != null) {
+							FluidVolume volume = fluidComponent.getFirst();
 
-						for (ItemStack stack : getArmorItems()) {
-							if (!stack.isEmpty()) {
-								if (Registry.ITEM.getId(stack.getItem()).toString().equals("astromine:space_suit_chestplate")) { // TODO: Properly verify for Space Suit.
-									FluidComponent fluidComponent = FluidComponent.get(stack);
+							if (volume != null) {
+								if (volume.getFluid() != astromine_suitFluid) {
+									astromine_suitFluid = volume.getFluid();
+									astromine_canBreatheSuit = BreathableRegistry.INSTANCE.canBreathe(entity.getType(), astromine_suitFluid);
+								}
 
-									if (fluidComponent != null) {
-										FluidVolume volume = fluidComponent.getFirst();
+								boolean canBreathe = astromine_canBreatheSuit;
 
-										if (volume != null) {
-											boolean canBreathe = BreathableRegistry.INSTANCE.canBreathe(entity.getType(), volume.getFluid());
+								if ((volume.isEmpty() || !canBreathe) && hasSuit) { // TODO: Check if can breathe!
+									isBreathing = false;
+								}
 
-											if ((volume.isEmpty() || !canBreathe) && hasSuit) { // TODO: Check if can breathe!
-												isBreathing = false;
-											}
+								if (!canBreathe) {
+									Consumer<LivingEntity> effect = FluidEffectRegistry.INSTANCE.get(volume.getFluid());
 
-											if (!canBreathe) {
-												if (FluidEffectRegistry.INSTANCE.contains(volume.getFluid())) {
-													FluidEffectRegistry.INSTANCE.get(volume.getFluid()).accept((LivingEntity) entity);
-												}
-											}
-										}
+									if (effect != null) {
+										effect.accept((LivingEntity) entity);
 									}
 								}
 							}
 						}
+					}
 
-						if (!hasSuit && FluidEffectRegistry.INSTANCE.contains(atmosphereVolume.getFluid())) {
-							FluidEffectRegistry.INSTANCE.get(atmosphereVolume.getFluid()).accept((LivingEntity) entity);
-						}
+					if (!hasSuit) {
+						Consumer<LivingEntity> effect = FluidEffectRegistry.INSTANCE.get(astromine_atmosphereFluid);
 
-						if (!isBreathing) {
-							oxygenComponent.simulate(false);
-						} else {
-							if (!hasSuit && BreathableRegistry.INSTANCE.containsKey(entity.getType())) {
-								if (!BreathableRegistry.INSTANCE.canBreathe(entity.getType(), atmosphereVolume.getFluid())) {
-									isBreathing = false;
-								}
-							}
+						if (effect != null) {
+							effect.accept((LivingEntity) entity);
+						}
+					}
 
-							oxygenComponent.simulate(isBreathing);
+					if (!isBreathing) {
+						oxygenComponent.simulate(false);
+					} else {
+						if (!hasSuit && !astromine_canBreatheAtmosphere) {
+							isBreathing = false;
 						}
+
+						oxygenComponent.simulate(isBreathing);
 					}
 				}
 			}
 		}
 	}
 
+	/**
+	 * Refreshes the cached gas at this entity's head, and whether it can breathe it, if the entity moved to another
+	 * block or world, or the gas of its chunk changed since the last tick.
+	 *
+	 * @return whether the entity is in a chunk with an atmosphere.
+	 */
+	@Unique
+	private boolean astromine_updateAtmosphere(Entity entity) {
+		BlockPos headPos = entity.getBlockPos().offset(Direction.UP);
+
+		if (astromine_atmosphereComponent == null || entity.world != astromine_atmosphereWorld || headPos.asLong() != astromine_atmospherePos) {
+			astromine_atmosphereComponent = ChunkAtmosphereComponent.get(entity.world.getChunk(headPos));
+			astromine_atmosphereWorld = entity.world;
+			astromine_atmospherePos = headPos.asLong();
+			astromine_atmosphereVersion = -1;
+
+			if (astromine_atmosphereComponent == null)
+				return false;
+		}
+
+		if (astromine_atmosphereComponent.getVersion() != astromine_atmosphereVersion) {
+			astromine_atmosphereVersion = astromine_atmosphereComponent.getVersion();
+
+			FluidVolume atmosphereVolume = astromine_atmosphereComponent.get(headPos);
+
+			if (atmosphereVolume.isEmpty() && !AstromineDimensions.isAstromine(entity.world.getRegistryKey())) {
+				atmosphereVolume = FluidVolume.oxygen();
+			}
+
+			astromine_atmosphereFluid = atmosphereVolume.getFluid();
+			astromine_canBreatheAtmosphere = !BreathableRegistry.INSTANCE.containsKey(entity.getType()) || BreathableRegistry.INSTANCE.canBreathe(entity.getType(), astromine_atmosphereFluid);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Refreshes whether this entity wears a full space suit, and which stack is its chestplate, if any armor stack
+	 * was swapped or emptied since the last tick.
+	 */
+	@Unique
+	private void astromine_updateArmor() {
+		boolean changed = false;
+
+		int slot = 0;
+
+		for (ItemStack stack : getArmorItems()) {
+			if (slot >= 4)
+				break;
+
+			Item item = stack.isEmpty() ? Items.AIR : stack.getItem();
+
+			if (astromine_armorStacks[slot] != stack || astromine_armorItems[slot] != item) {
+				astromine_armorStacks[slot] = stack;
+				astromine_armorItems[slot] = item;
+
+				changed = true;
+			}
+
+			++slot;
+		}
+
+		if (!changed)
+			return;
+
+		Item[] spaceSuit = astromine_getSpaceSuit();
+
+		boolean hasHelmet = false;
+		boolean hasChestplate = false;
+		boolean hasLeggings = false;
+		boolean hasBoots = false;
+
+		astromine_suitChestplate = ItemStack.EMPTY;
+
+		for (int i = 0; i < slot; ++i) {
+			Item item = astromine_armorItems[i];
+
+			if (item == Items.AIR)
+				continue;
+
+			if (item == spaceSuit[0]) {
+				hasHelmet = true;
+			}
+			if (item == spaceSuit[1]) {
+				hasChestplate = true;
+				astromine_suitChestplate = astromine_armorStacks[i];
+			}
+			if (item == spaceSuit[2]) {
+				hasLeggings = true;
+			}
+			if (item == spaceSuit[3]) {
+				hasBoots = true;
+			}
+		}
+
+		astromine_hasSuit = hasHelmet && hasChestplate && hasLeggings && hasBoots;
+	}
+
 	// A redirect would be the most efficient, but ModifyArg is the only compatible option
 	@ModifyArg(method = "baseTick", at = @At(value = "INVOKE", target = "Lnet/minecraft/entity/LivingEntity;isSubmergedIn(Lnet/minecraft/tag/Tag;)Z"))
 	private Tag<Fluid> astromine_tickAirInFluid(Tag<Fluid> tag) {
@@ -30,13 +30,17 @@ import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.ChunkSection;
 import net.minecraft.world.chunk.WorldChunk;
 
 import com.github.chainmailstudios.astromine.access.WorldChunkAccess;
+import com.github.chainmailstudios.astromine.common.component.world.ChunkAtmosphereComponent;
 
 @Mixin(WorldChunk.class)
 public class WorldChunkMixin implements WorldChunkAccess {
@@ -159,6 +163,17 @@ public class WorldChunkMixin implements WorldChunkAccess {
 		return chunk;
 	}
 
+	@Inject(method = "setBlockState", at = @At("RETURN"))
+	private void astromine_setBlockState(BlockPos pos, BlockState state, boolean moved, CallbackInfoReturnable<BlockState> cir) {
+		if (!this.world.isClient && cir.getReturnValue() != null) {
+			ChunkAtmosphereComponent atmosphereComponent = ChunkAtmosphereComponent.get((WorldChunk) (Object) this);
+
+			if (atmosphereComponent != null) {
+				atmosphereComponent.onBlockChanged(pos);
+			}
+		}
+	}
+
 	@Inject(method = "setLoadedToWorld", at = @At("RETURN"))
 	private void astromine_setLoadedToWorld(boolean loaded, CallbackInfo ci) {
 		if (!loaded) { // if unloading
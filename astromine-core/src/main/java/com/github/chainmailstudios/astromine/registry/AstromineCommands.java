@@ -33,13 +33,28 @@ import net.minecraft.network.PacketByteBuf;
 import net.minecraft.screen.ScreenHandler;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.text.LiteralText;
 import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import net.minecraft.util.math.BlockPos;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.builder.RequiredArgumentBuilder;
 
+import com.github.chainmailstudios.astromine.common.component.world.WorldNetworkComponent;
+import com.github.chainmailstudios.astromine.common.network.NetworkInstance;
+import com.github.chainmailstudios.astromine.common.network.NetworkNode;
+import com.github.chainmailstudios.astromine.common.network.NetworkProfile;
+import com.github.chainmailstudios.astromine.common.registry.NetworkTypeRegistry;
 import com.github.chainmailstudios.astromine.common.screenhandler.RecipeCreatorScreenHandler;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
 public class AstromineCommands {
 	public static void initialize() {
 		CommandRegistrationCallback.EVENT.register((dispatcher, ignored) -> {
@@ -63,6 +78,59 @@ public class AstromineCommands {
 
 				return 1;
 			})));
+
+			dispatcher.register(LiteralArgumentBuilder.<ServerCommandSource> literal("astromine").requires((source) -> source.hasPermissionLevel(2)).then(LiteralArgumentBuilder.<ServerCommandSource> literal("network").then(LiteralArgumentBuilder.<ServerCommandSource> literal("profile").executes((context) -> {
+				return profileNetworks(context.getSource(), 10);
+			}).then(RequiredArgumentBuilder.<ServerCommandSource, Integer> argument("count", IntegerArgumentType.integer(1)).executes((context) -> {
+				return profileNetworks(context.getSource(), IntegerArgumentType.getInteger(context, "count"));
+			})))));
 		});
 	}
+
+	/**
+	 * Lists the networks which spent the most time ticking since the last profile, then resets every network's
+	 * metrics so that the next profile covers the time in between.
+	 */
+	private static int profileNetworks(ServerCommandSource source, int count) {
+		List<NetworkInstance> instances = new ArrayList<>();
+
+		for (ServerWorld world : source.getMinecraftServer().getWorlds()) {
+			WorldNetworkComponent component = WorldNetworkComponent.get(world);
+
+			if (component != null) {
+				instances.addAll(component.getInstances());
+			}
+		}
+
+		instances.sort(Comparator.comparingLong((NetworkInstance instance) -> instance.getProfile().getNanos()).reversed());
+
+		source.sendFeedback(new LiteralText("Profiled " + instances.size() + " networks, showing the " + Math.min(count, instances.size()) + " most expensive:").formatted(Formatting.GOLD), false);
+
+		for (int i = 0; i < count && i < instances.size(); ++i) {
+			NetworkInstance instance = instances.get(i);
+			NetworkProfile profile = instance.getProfile();
+
+			Iterator<NetworkNode> nodes = instance.iterator();
+			BlockPos position = nodes.hasNext() ? nodes.next().getBlockPos() : BlockPos.ORIGIN;
+
+			int ticks = Math.max(1, profile.getTicks());
+
+			source.sendFeedback(new LiteralText(String.format("%s in %s at %d, %d, %d (%d nodes): %.1f us total, %.1f us, %d members and %.2f moved per tick over %d ticks",
+				NetworkTypeRegistry.INSTANCE.getKey(instance.getType()),
+				instance.getWorld().getRegistryKey().getValue(),
+				position.getX(), position.getY(), position.getZ(),
+				instance.size(),
+				profile.getNanos() / 1000.0D,
+				profile.getNanos() / 1000.0D / ticks,
+				profile.getMembers() / ticks,
+				profile.getMoved() / ticks,
+				profile.getTicks())), false);
+		}
+
+		for (NetworkInstance instance : instances) {
+			instance.getProfile().reset();
+		}
+
+		return instances.size();
+	}
 }
@@ -24,16 +24,25 @@
 
 package com.github.chainmailstudios.astromine.registry;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
 import net.minecraft.util.ActionResult;
+import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 
+import com.github.chainmailstudios.astromine.AstromineCommon;
 import com.github.chainmailstudios.astromine.common.block.transfer.TransferType;
 import com.github.chainmailstudios.astromine.common.callback.TransferEntryCallback;
+import com.github.chainmailstudios.astromine.common.component.world.AtmospherePermeability;
+import com.github.chainmailstudios.astromine.common.component.world.AtmosphereScheduler;
 import com.github.chainmailstudios.astromine.common.component.world.ChunkAtmosphereComponent;
 import com.github.chainmailstudios.astromine.common.component.world.WorldNetworkComponent;
 import com.github.chainmailstudios.astromine.common.screenhandler.base.block.ComponentBlockEntityScreenHandler;
@@ -106,6 +115,30 @@ public class AstromineCommonCallbacks {
 			}
 		}));
 
+		ServerTickEvents.END_WORLD_TICK.register((world -> {
+			AtmosphereScheduler.INSTANCE.tick(world);
+		}));
+
+		ServerChunkEvents.CHUNK_LOAD.register((world, chunk) -> {
+			WorldNetworkComponent component = WorldNetworkComponent.get(world);
+
+			if (component != null) {
+				component.onChunkLoad(chunk);
+			}
+		});
+
+		ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new SimpleSynchronousResourceReloadListener() {
+			@Override
+			public Identifier getFabricId() {
+				return AstromineCommon.identifier("atmosphere_permeability");
+			}
+
+			@Override
+			public void apply(ResourceManager resourceManager) {
+				AtmospherePermeability.invalidate();
+			}
+		});
+
 		TransferEntryCallback.EVENT.register((entry) -> {
 			if (entry.getComponentKey() == AstromineComponents.ENERGY_INVENTORY_COMPONENT) {
 				for (Direction direction : Direction.values()) {
@@ -474,6 +474,12 @@ public class AstromineConfig implements ConfigData {
 	@Comment("Denominator for the gas decay rate fraction. It will decay gases by this fraction every gas tick.")
 	public int gasDecayDenominator = 1024;
 
+	@Comment("Whether to simulate the atmospheres of separate chunks in parallel, merging the gas flowing between them on the server thread afterwards.")
+	public boolean parallelAtmosphereTicking = true;
+
+	@Comment("Largest number of blocks a sealed room may hold before vents treat it as open to the outside and gas in it is simulated per block.")
+	public int maxRoomVolume = 4096;
+
 	@Comment("Noise threshold for Asteroid generation.")
 	public float asteroidNoiseThreshold = 0.545F;
 
@@ -564,6 +570,9 @@ public class AstromineConfig implements ConfigData {
 	@Comment("Fluid denominator for the Fluid Cable and inter-machine transfer.")
 	public long fluidTransferDenominator = 5;
 
+	@Comment("Whether to compute the transfers of separate energy and fluid networks in parallel, applying them on the server thread afterwards.")
+	public boolean parallelNetworkTicking = false;
+
 	public static AstromineConfig get() {
 		if (instance == null) {
 			try {
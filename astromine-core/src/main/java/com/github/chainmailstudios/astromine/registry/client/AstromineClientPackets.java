@@ -42,27 +42,15 @@ public class AstromineClientPackets {
 		// AstromineScreens.GAS_IMAGE.setTexture(AstromineCommon.identifier("textures/symbol/" + identifier.getPath() + ".png"));
 		// }));
 
-		ClientSidePacketRegistry.INSTANCE.register(ClientAtmosphereManager.GAS_ERASED, (context, buffer) -> {
+		ClientSidePacketRegistry.INSTANCE.register(ClientAtmosphereManager.GAS_UPDATED, (context, buffer) -> {
 			buffer.retain();
 
 			context.getTaskQueue().execute(() -> {
-				ClientAtmosphereManager.onGasErased(buffer);
-			});
-		});
-
-		ClientSidePacketRegistry.INSTANCE.register(ClientAtmosphereManager.GAS_ADDED, (context, buffer) -> {
-			buffer.retain();
-
-			context.getTaskQueue().execute(() -> {
-				ClientAtmosphereManager.onGasAdded(buffer);
-			});
-		});
-
-		ClientSidePacketRegistry.INSTANCE.register(ClientAtmosphereManager.GAS_REMOVED, (context, buffer) -> {
-			buffer.retain();
-
-			context.getTaskQueue().execute(() -> {
-				ClientAtmosphereManager.onGasRemoved(buffer);
+				try {
+					ClientAtmosphereManager.onGasUpdated(buffer);
+				} finally {
+					buffer.release();
+				}
 			});
 		});
 	}
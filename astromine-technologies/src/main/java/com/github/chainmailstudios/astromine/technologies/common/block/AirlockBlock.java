@@ -60,11 +60,12 @@ import net.minecraft.world.World;
 import net.minecraft.world.WorldAccess;
 import net.minecraft.world.WorldView;
 
+import com.github.chainmailstudios.astromine.common.block.base.AtmosphereSealingBlock;
 import com.github.chainmailstudios.astromine.common.utilities.VoxelShapeUtilities;
 
 import javax.annotation.Nullable;
 
-public class AirlockBlock extends Block implements Waterloggable {
+public class AirlockBlock extends Block implements Waterloggable, AtmosphereSealingBlock {
 	public static final DirectionProperty FACING = HorizontalFacingBlock.FACING;
 	public static final BooleanProperty POWERED = Properties.POWERED;
 	public static final BooleanProperty LEFT = BooleanProperty.of("left");
@@ -82,6 +83,11 @@ public class AirlockBlock extends Block implements Waterloggable {
 		this.setDefaultState(this.getStateManager().getDefaultState().with(FACING, Direction.NORTH).with(POWERED, false).with(HALF, DoubleBlockHalf.LOWER).with(LEFT, false).with(RIGHT, false).with(Properties.WATERLOGGED, false));
 	}
 
+	@Override
+	public boolean isSealing(BlockState state) {
+		return !state.get(POWERED);
+	}
+
 	@Override
 	public FluidState getFluidState(BlockState state) {
 		return (state.contains(Properties.WATERLOGGED) && state.get(Properties.WATERLOGGED)) ? Fluids.WATER.getDefaultState() : super.getFluidState(state);
@@ -29,10 +29,13 @@ import net.minecraft.block.FacingBlock;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.Direction;
+import net.minecraft.util.registry.Registry;
 
 import com.github.chainmailstudios.astromine.common.block.entity.base.ComponentEnergyFluidBlockEntity;
 import com.github.chainmailstudios.astromine.common.component.inventory.FluidComponent;
 import com.github.chainmailstudios.astromine.common.component.inventory.SimpleFluidComponent;
+import com.github.chainmailstudios.astromine.common.component.world.AtmosphereRoom;
+import com.github.chainmailstudios.astromine.common.component.world.AtmosphereSection;
 import com.github.chainmailstudios.astromine.common.component.world.ChunkAtmosphereComponent;
 import com.github.chainmailstudios.astromine.common.volume.energy.EnergyVolume;
 import com.github.chainmailstudios.astromine.common.volume.fluid.FluidVolume;
@@ -44,8 +47,15 @@ import com.github.chainmailstudios.astromine.technologies.common.block.entity.ma
 import com.github.chainmailstudios.astromine.technologies.common.block.entity.machine.SpeedProvider;
 import com.github.chainmailstudios.astromine.technologies.registry.AstromineTechnologiesBlockEntityTypes;
 import com.github.chainmailstudios.astromine.technologies.registry.AstromineTechnologiesBlocks;
+import org.jetbrains.annotations.Nullable;
 
 public class VentBlockEntity extends ComponentEnergyFluidBlockEntity implements FluidSizeProvider, EnergySizeProvider, SpeedProvider, EnergyConsumedProvider {
+	private static final int ROOM_DETECTION_DELAY = 100;
+
+	private AtmosphereRoom room = null;
+
+	private int roomDetectionCooldown = 0;
+
 	public VentBlockEntity() {
 		super(AstromineTechnologiesBlocks.VENT, AstromineTechnologiesBlockEntityTypes.VENT);
 
@@ -103,6 +113,30 @@ public class VentBlockEntity extends ComponentEnergyFluidBlockEntity implements
 				BlockPos output = position.offset(direction);
 
 				if (energyVolume.hasStored(getEnergyConsumed()) && (world.getBlockState(output).isAir() || world.getBlockState(output).isSideSolidFullSquare(world, pos, direction.getOpposite()))) {
+					AtmosphereRoom outputRoom = getRoom(output);
+
+					if (outputRoom != null) {
+						FluidVolume centerVolume = fluidComponent.getFirst();
+
+						int fluid = Registry.FLUID.getRawId(centerVolume.getFluid());
+
+						if (!centerVolume.isEmpty() && outputRoom.accepts(fluid) && outputRoom.getPressure() < AtmosphereSection.toFixed(centerVolume.getAmount())) {
+							int inserted = outputRoom.insert(fluid, AtmosphereSection.toFixed(Fraction.minimum(centerVolume.getAmount(), Fraction.of(1, 8))));
+
+							if (inserted > 0) {
+								centerVolume.minus(AtmosphereSection.toFraction(inserted));
+
+								energyVolume.minus(getEnergyConsumed());
+
+								tickActive();
+								return;
+							}
+						}
+
+						tickInactive();
+						return;
+					}
+
 					ChunkAtmosphereComponent atmosphereComponent = ChunkAtmosphereComponent.get(world.getChunk(getPos()));
 
 					FluidVolume centerVolume = fluidComponent.getFirst();
@@ -148,4 +182,29 @@ public class VentBlockEntity extends ComponentEnergyFluidBlockEntity implements
 			}
 		}
 	}
+
+	/**
+	 * Returns the sealed room the given position belongs to, detecting it if necessary. Detection is only retried
+	 * every {@link #ROOM_DETECTION_DELAY} ticks after failing, as an open area is flood-filled up to its limit.
+	 */
+	@Nullable
+	private AtmosphereRoom getRoom(BlockPos output) {
+		if (room != null && room.isValid() && room.getCells().contains(output.asLong()))
+			return room;
+
+		room = null;
+
+		if (roomDetectionCooldown > 0) {
+			--roomDetectionCooldown;
+			return null;
+		}
+
+		room = AtmosphereRoom.detect(world, output);
+
+		if (room == null) {
+			roomDetectionCooldown = ROOM_DETECTION_DELAY;
+		}
+
+		return room;
+	}
 }
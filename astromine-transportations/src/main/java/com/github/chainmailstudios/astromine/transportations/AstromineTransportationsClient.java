@@ -30,6 +30,7 @@ import net.fabricmc.api.Environment;
 import com.github.chainmailstudios.astromine.AstromineClient;
 import com.github.chainmailstudios.astromine.transportations.registry.client.AstromineTransportationsBlockEntityRenderers;
 import com.github.chainmailstudios.astromine.transportations.registry.client.AstromineTransportationsClientCallbacks;
+import com.github.chainmailstudios.astromine.transportations.registry.client.AstromineTransportationsClientPackets;
 import com.github.chainmailstudios.astromine.transportations.registry.client.AstromineTransportationsRenderLayers;
 
 @Environment(EnvType.CLIENT)
@@ -38,6 +39,7 @@ public class AstromineTransportationsClient extends AstromineClient {
 	public void onInitializeClient() {
 		AstromineTransportationsBlockEntityRenderers.initialize();
 		AstromineTransportationsClientCallbacks.initialize();
+		AstromineTransportationsClientPackets.initialize();
 		AstromineTransportationsRenderLayers.initialize();
 	}
 }
@@ -27,6 +27,7 @@ package com.github.chainmailstudios.astromine.transportations;
 import com.github.chainmailstudios.astromine.AstromineCommon;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsBlockEntityTypes;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsBlocks;
+import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsCommonCallbacks;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsItems;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsSoundEvents;
 import com.github.chainmailstudios.astromine.transportations.registry.client.AstromineTransportationsItemGroups;
@@ -39,5 +40,6 @@ public class AstromineTransportationsCommon extends AstromineCommon {
 		AstromineTransportationsItemGroups.initialize();
 		AstromineTransportationsBlockEntityTypes.initialize();
 		AstromineTransportationsSoundEvents.initialize();
+		AstromineTransportationsCommonCallbacks.initialize();
 	}
 }
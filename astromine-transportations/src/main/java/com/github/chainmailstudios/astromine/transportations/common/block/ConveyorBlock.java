@@ -217,6 +217,7 @@ public class ConveyorBlock extends HorizontalFacingBlock implements BlockEntityP
 	public void neighborUpdate(BlockState blockState, World world, BlockPos blockPos, Block block, BlockPos blockPos2, boolean boolean_1) {
 		Direction direction = blockState.get(FACING);
 		ConveyorBlockEntity conveyorBlockEntity = (ConveyorBlockEntity) world.getBlockEntity(blockPos);
+		conveyorBlockEntity.invalidateNeighbors();
 
 		BlockPos frontPos = blockPos.offset(direction);
 
@@ -86,6 +86,7 @@ public class DownwardVerticalConveyorBlock extends VerticalConveyorBlock {
 	public void neighborUpdate(BlockState blockState, World world, BlockPos blockPos, Block block, BlockPos blockPos2, boolean boolean_1) {
 		Direction direction = blockState.get(FACING);
 		ConveyorBlockEntity blockEntity = (ConveyorBlockEntity) world.getBlockEntity(blockPos);
+		blockEntity.invalidateNeighbors();
 
 		BlockPos downPos = blockPos.down(1);
 		BlockPos conveyorPos = blockPos.offset(direction).up();
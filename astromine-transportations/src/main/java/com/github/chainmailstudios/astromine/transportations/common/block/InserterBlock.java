@@ -96,6 +96,11 @@ public class InserterBlock extends HorizontalFacingBlock implements BlockEntityP
 	@Override
 	public void neighborUpdate(BlockState state, World world, BlockPos pos, Block block, BlockPos neighborPos, boolean moved) {
 		if (!world.isClient) {
+			BlockEntity blockEntity = world.getBlockEntity(pos);
+			if (blockEntity instanceof InserterBlockEntity) {
+				((InserterBlockEntity) blockEntity).wake();
+			}
+
 			boolean bl = state.get(Properties.POWERED);
 			if (bl != world.isReceivingRedstonePower(pos)) {
 				if (bl) {
@@ -88,6 +88,7 @@ public class SplitterBlock extends HorizontalFacingBlock implements BlockEntityP
 	public void neighborUpdate(BlockState blockState, World world, BlockPos blockPos, Block block, BlockPos blockPos2, boolean boolean_1) {
 		Direction direction = blockState.get(FACING);
 		AbstractConveyableBlockEntity machineBlockEntity = (AbstractConveyableBlockEntity) world.getBlockEntity(blockPos);
+		machineBlockEntity.invalidateNeighbors();
 
 		BlockPos leftPos = blockPos.offset(direction.rotateYCounterclockwise());
 		BlockPos rightPos = blockPos.offset(direction.rotateYClockwise());
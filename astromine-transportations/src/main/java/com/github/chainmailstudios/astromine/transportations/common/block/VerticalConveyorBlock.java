@@ -161,6 +161,7 @@ public class VerticalConveyorBlock extends HorizontalFacingBlock implements Bloc
 	public void neighborUpdate(BlockState blockState, World world, BlockPos blockPos, Block block, BlockPos blockPos2, boolean boolean_1) {
 		Direction direction = blockState.get(FACING);
 		ConveyorBlockEntity blockEntity = (ConveyorBlockEntity) world.getBlockEntity(blockPos);
+		blockEntity.invalidateNeighbors();
 
 		BlockPos upPos = blockPos.up();
 		BlockPos conveyorPos = blockPos.offset(direction).up();
@@ -31,23 +31,26 @@ import net.minecraft.block.BlockState;
 import net.minecraft.block.HorizontalFacingBlock;
 import net.minecraft.block.entity.BlockEntity;
 import net.minecraft.block.entity.BlockEntityType;
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Tickable;
 import net.minecraft.util.collection.DefaultedList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
+import net.minecraft.util.math.MathHelper;
 
 import com.github.chainmailstudios.astromine.common.inventory.SingularStackInventory;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.Conveyable;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyableLink;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.Conveyor;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorConveyable;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorEvents;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorLine;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorLineManager;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorTypes;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.WakeListeners;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsBlockEntityTypes;
+import org.jetbrains.annotations.Nullable;
 
 public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyable, SingularStackInventory, BlockEntityClientSerializable, RenderAttachmentBlockEntity, Tickable {
 	protected boolean front = false;
@@ -56,8 +59,20 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 	protected int position = 0;
 	protected int prevPosition = 0;
 	protected boolean hasBeenRemoved = false;
+	protected boolean moving = false;
 	private DefaultedList<ItemStack> stacks = DefaultedList.ofSize(1, ItemStack.EMPTY);
 
+	private ConveyorLine line = null;
+	private int lineIndex = 0;
+
+	private final ConveyableLink outputLink = new ConveyableLink();
+	private final ConveyableLink acrossLink = new ConveyableLink();
+
+	private final WakeListeners wakeListeners = new WakeListeners();
+	private final Runnable wakeAction = this::wakeLine;
+
+	private static final int MAXIMUM_CATCH_UP = 20;
+
 	public ConveyorBlockEntity() {
 		super(AstromineTransportationsBlockEntityTypes.CONVEYOR);
 	}
@@ -66,30 +81,40 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 		super(type);
 	}
 
+	/**
+	 * On the server, makes sure this conveyor belongs to a {@link ConveyorLine}, which moves its item; on the client,
+	 * interpolates the item between the {@link ConveyorEvents} received for it.
+	 */
 	@Override
 	public void tick() {
-		Direction direction = getCachedState().get(HorizontalFacingBlock.FACING);
+		if (world == null)
+			return;
+
+		if (!world.isClient()) {
+			if (line == null || !line.isValid()) {
+				ConveyorLineManager.INSTANCE.compile(this);
+			}
+		} else {
+			interpolate();
+		}
+	}
+
+	/**
+	 * Advances the item held by this conveyor by one tick, handing it to its output once it reaches the end.
+	 */
+	public void tickMovement() {
 		int speed = ((Conveyor) getCachedState().getBlock()).getSpeed();
 
 		if (!isEmpty()) {
 			if (across) {
-				BlockPos frontPos = getPos().offset(direction);
-				BlockPos frontAcrossPos = frontPos.offset(direction);
-				if (getWorld().getBlockEntity(frontPos) instanceof ConveyorConveyable && getWorld().getBlockEntity(frontAcrossPos) instanceof ConveyorConveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(frontPos);
-					Conveyable acrossConveyable = (Conveyable) getWorld().getBlockEntity(frontAcrossPos);
+				Conveyable conveyable = getOutputConveyable();
+				Conveyable acrossConveyable = getAcrossConveyable();
+				if (conveyable instanceof ConveyorConveyable && acrossConveyable instanceof ConveyorConveyable) {
 					handleMovementAcross(conveyable, acrossConveyable, speed, true);
 				}
-			} else if (front) {
-				BlockPos frontPos = getPos().offset(direction);
-				if (getWorld().getBlockEntity(frontPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(frontPos);
-					handleMovement(conveyable, speed, true);
-				}
-			} else if (down) {
-				BlockPos downPos = getPos().offset(direction).down();
-				if (getWorld().getBlockEntity(downPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(downPos);
+			} else if (front || down) {
+				Conveyable conveyable = getOutputConveyable();
+				if (conveyable != null) {
 					handleMovement(conveyable, speed, true);
 				}
 			} else if (position != 0) {
@@ -106,8 +131,7 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 				setPosition(getPosition() + 1);
 			} else if (transition && position == speed) {
 				conveyable.give(getStack());
-				if (!world.isClient() || world.isClient && MinecraftClient.getInstance().player.squaredDistanceTo(Vec3d.of(getPos())) > 40 * 40)
-					removeStack();
+				removeStack();
 			}
 		} else if (conveyable instanceof ConveyorConveyable) {
 			ConveyorConveyable conveyor = (ConveyorConveyable) conveyable;
@@ -139,8 +163,7 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 				}
 			} else if (transition && position == speed) {
 				conveyable.give(getStack());
-				if (!world.isClient() || world.isClient && MinecraftClient.getInstance().player.squaredDistanceTo(Vec3d.of(getPos())) > 40 * 40)
-					removeStack();
+				removeStack();
 			}
 		} else if (conveyable instanceof ConveyorConveyable && acrossConveyable instanceof ConveyorConveyable) {
 			ConveyorConveyable conveyor = (ConveyorConveyable) conveyable;
@@ -158,6 +181,203 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 		}
 	}
 
+	/**
+	 * Called on the server after each movement tick; tells clients when the item on this conveyor starts or stops
+	 * advancing, which is all they need to move it themselves in between.
+	 */
+	public void updateMoving() {
+		boolean moving = !isEmpty() && (position > prevPosition || getHorizontalPosition() > getPreviousHorizontalPosition());
+
+		if (this.moving != moving) {
+			this.moving = moving;
+			ConveyorEvents.send(this, ConveyorEvents.STATE);
+		}
+	}
+
+	public boolean isMoving() {
+		return moving;
+	}
+
+	/**
+	 * Advances the item held by this conveyor on the client, the way {@link #tickMovement()} does on the server while
+	 * it is not blocked.
+	 */
+	protected void interpolate() {
+		int speed = ((Conveyor) getCachedState().getBlock()).getSpeed();
+
+		if (moving && !isEmpty() && position < speed) {
+			setPosition(position + 1);
+		} else {
+			prevPosition = position;
+		}
+	}
+
+	/**
+	 * Sets the positions of the item held by this conveyor, without interpolating from the previous ones.
+	 */
+	protected void snapTo(int position, int horizontalPosition) {
+		this.position = position;
+		this.prevPosition = position;
+	}
+
+	private void catchUp(long tick) {
+		long elapsed = MathHelper.clamp(world.getTime() - tick, 0, MAXIMUM_CATCH_UP);
+
+		for (int i = 0; i < elapsed; ++i) {
+			interpolate();
+		}
+	}
+
+	public void onEntered(ItemStack stack, int position, int horizontalPosition, long tick) {
+		stacks.set(0, stack);
+		moving = true;
+		snapTo(position, horizontalPosition);
+		catchUp(tick);
+	}
+
+	public void onStateChanged(int position, int horizontalPosition, boolean moving, long tick) {
+		this.moving = moving;
+		snapTo(position, horizontalPosition);
+		catchUp(tick);
+	}
+
+	public void onRemoved() {
+		stacks.set(0, ItemStack.EMPTY);
+		moving = false;
+		snapTo(0, 0);
+	}
+
+	/**
+	 * Returns the position this conveyor hands its item to, or null if it has no output.
+	 */
+	@Nullable
+	public BlockPos getOutputPos() {
+		Direction direction = getCachedState().get(HorizontalFacingBlock.FACING);
+
+		if (across || front) {
+			return getPos().offset(direction);
+		} else if (down) {
+			return getPos().offset(direction).down();
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns the conveyable at {@link #getOutputPos()}, from the cache when possible.
+	 */
+	@Nullable
+	protected Conveyable getOutputConveyable() {
+		if (!outputLink.isResolved()) {
+			outputLink.resolve(world, getOutputPos());
+		}
+
+		return outputLink.get();
+	}
+
+	/**
+	 * Returns the conveyable past the one at {@link #getOutputPos()}, which an item crossing it must not collide with.
+	 */
+	@Nullable
+	protected Conveyable getAcrossConveyable() {
+		if (!acrossLink.isResolved()) {
+			BlockPos outputPos = getOutputPos();
+			acrossLink.resolve(world, outputPos == null ? null : outputPos.offset(getCachedState().get(HorizontalFacingBlock.FACING)));
+		}
+
+		return acrossLink.get();
+	}
+
+	/**
+	 * Forgets the cached conveyables around this conveyor, after a neighbour or its own state changed, and wakes it
+	 * up in case it was waiting on them.
+	 */
+	public void invalidateNeighbors() {
+		outputLink.invalidate();
+		acrossLink.invalidate();
+		wakeLine();
+	}
+
+	/**
+	 * Called by the line after a tick in which the item on this conveyor did not move; stops it from being ticked
+	 * until one of the conveyables it waits on changes, or one of its neighbours does.
+	 *
+	 * @return Whether or not this conveyor can sleep; it cannot if one of the conveyables it waits on is unable to
+	 * wake it up.
+	 */
+	public boolean sleep() {
+		snapTo(position, getHorizontalPosition());
+		updateMoving();
+
+		Conveyable conveyable = getOutputConveyable();
+
+		if (conveyable != null && !conveyable.addWakeListener(wakeAction))
+			return false;
+
+		if (across) {
+			Conveyable acrossConveyable = getAcrossConveyable();
+
+			return acrossConveyable == null || acrossConveyable.addWakeListener(wakeAction);
+		}
+
+		return true;
+	}
+
+	@Override
+	public boolean addWakeListener(Runnable listener) {
+		return wakeListeners.add(listener);
+	}
+
+	/**
+	 * Wakes up the conveyors waiting on this one, after its item changed or moved.
+	 */
+	protected void notifyWakeListeners() {
+		wakeListeners.run();
+	}
+
+	@Nullable
+	public ConveyorLine getLine() {
+		return line;
+	}
+
+	public int getLineIndex() {
+		return lineIndex;
+	}
+
+	public void setLine(ConveyorLine line, int lineIndex) {
+		this.line = line;
+		this.lineIndex = lineIndex;
+	}
+
+	/**
+	 * Invalidates the line this conveyor belongs to, after one of its links changed.
+	 */
+	protected void invalidateLine() {
+		if (line != null) {
+			line.invalidate();
+			line = null;
+		}
+	}
+
+	private void wakeLine() {
+		if (line != null) {
+			line.wake(lineIndex);
+		}
+	}
+
+	@Override
+	public void markRemoved() {
+		super.markRemoved();
+		invalidateLine();
+	}
+
+	@Override
+	public void resetBlock() {
+		super.resetBlock();
+		invalidateLine();
+		invalidateNeighbors();
+	}
+
 	@Override
 	public boolean hasBeenRemoved() {
 		return hasBeenRemoved;
@@ -166,6 +386,10 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 	@Override
 	public void setRemoved(boolean hasBeenRemoved) {
 		this.hasBeenRemoved = hasBeenRemoved;
+
+		if (hasBeenRemoved) {
+			invalidateLine();
+		}
 	}
 
 	@Override
@@ -210,8 +434,12 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 	@Override
 	public void setStack(int slot, ItemStack stack) {
 		SingularStackInventory.super.setStack(slot, stack);
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+		wakeLine();
+		notifyWakeListeners();
+		if (!world.isClient()) {
+			moving = !stack.isEmpty();
+			ConveyorEvents.send(this, stack.isEmpty() ? ConveyorEvents.REMOVED : ConveyorEvents.ENTERED);
+		}
 	}
 
 	@Override
@@ -219,16 +447,22 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 		ItemStack stack = SingularStackInventory.super.removeStack(slot);
 		position = 0;
 		prevPosition = 0;
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+		notifyWakeListeners();
+		if (!world.isClient()) {
+			moving = false;
+			ConveyorEvents.send(this, ConveyorEvents.REMOVED);
+		}
 		return stack;
 	}
 
 	@Override
 	public void clear() {
 		SingularStackInventory.super.clear();
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+		notifyWakeListeners();
+		if (!world.isClient()) {
+			moving = false;
+			ConveyorEvents.send(this, ConveyorEvents.REMOVED);
+		}
 	}
 
 	@Override
@@ -241,10 +475,12 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 	}
 
 	public void setFront(boolean front) {
+		if (this.front != front) {
+			invalidateLine();
+		}
+
 		this.front = front;
 		markDirty();
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
 	}
 
 	public boolean hasDown() {
@@ -252,10 +488,12 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 	}
 
 	public void setDown(boolean down) {
+		if (this.down != down) {
+			invalidateLine();
+		}
+
 		this.down = down;
 		markDirty();
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
 	}
 
 	public boolean hasAcross() {
@@ -263,10 +501,12 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 	}
 
 	public void setAcross(boolean across) {
+		if (this.across != across) {
+			invalidateLine();
+		}
+
 		this.across = across;
 		markDirty();
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
 	}
 
 	@Override
@@ -279,6 +519,7 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 			this.prevPosition = 0;
 		else this.prevPosition = this.position;
 		this.position = position;
+		notifyWakeListeners();
 	}
 
 	@Override
@@ -286,13 +527,12 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 		return prevPosition;
 	}
 
-	protected void sendPacket(ServerWorld w, CompoundTag tag) {
-		tag.putString("id", BlockEntityType.getId(getType()).toString());
-		sendPacket(w, new BlockEntityUpdateS2CPacket(getPos(), 127, tag));
+	public int getHorizontalPosition() {
+		return 0;
 	}
 
-	protected void sendPacket(ServerWorld w, BlockEntityUpdateS2CPacket packet) {
-		w.getPlayers(player -> player.squaredDistanceTo(Vec3d.of(getPos())) < 40 * 40).forEach(player -> player.networkHandler.sendPacket(packet));
+	public int getPreviousHorizontalPosition() {
+		return 0;
 	}
 
 	@Override
@@ -309,6 +549,7 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 		across = compoundTag.getBoolean("across");
 		position = compoundTag.getInt("position");
 		prevPosition = compoundTag.getInt("prevPosition");
+		moving = compoundTag.getBoolean("moving");
 	}
 
 	@Override
@@ -324,6 +565,7 @@ public class ConveyorBlockEntity extends BlockEntity implements ConveyorConveyab
 		compoundTag.putBoolean("across", across);
 		compoundTag.putInt("position", position);
 		compoundTag.putInt("prevPosition", prevPosition);
+		compoundTag.putBoolean("moving", moving);
 		return super.toTag(compoundTag);
 	}
 
@@ -26,13 +26,10 @@ package com.github.chainmailstudios.astromine.transportations.common.block.entit
 
 import net.minecraft.block.BlockState;
 import net.minecraft.block.HorizontalFacingBlock;
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
 
 import com.github.chainmailstudios.astromine.transportations.common.block.property.ConveyorProperties;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.Conveyable;
@@ -40,6 +37,7 @@ import com.github.chainmailstudios.astromine.transportations.common.conveyor.Con
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorConveyable;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorTypes;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsBlockEntityTypes;
+import org.jetbrains.annotations.Nullable;
 
 public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 	protected boolean down = false;
@@ -51,15 +49,13 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 	}
 
 	@Override
-	public void tick() {
-		Direction direction = getCachedState().get(HorizontalFacingBlock.FACING);
+	public void tickMovement() {
 		int speed = ((Conveyor) getCachedState().getBlock()).getSpeed();
 
 		if (!isEmpty()) {
 			if (getCachedState().get(ConveyorProperties.FRONT)) {
-				BlockPos frontPos = getPos().offset(direction.getOpposite());
-				if (getWorld().getBlockEntity(frontPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(frontPos);
+				Conveyable conveyable = getOutputConveyable();
+				if (conveyable != null) {
 					if (getCachedState().get(ConveyorProperties.CONVEYOR)) {
 						if (position < speed) {
 							handleMovement(conveyable, speed, false);
@@ -72,9 +68,8 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 					}
 				}
 			} else if (down) {
-				BlockPos downPos = getPos().down();
-				if (getWorld().getBlockEntity(downPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(downPos);
+				Conveyable conveyable = getOutputConveyable();
+				if (conveyable != null) {
 					if (getCachedState().get(ConveyorProperties.CONVEYOR)) {
 						handleMovement(conveyable, speed * 2, true);
 					} else {
@@ -89,14 +84,38 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		}
 	}
 
+	@Override
+	protected void interpolate() {
+		int speed = ((Conveyor) getCachedState().getBlock()).getSpeed();
+		boolean conveyor = getCachedState().get(ConveyorProperties.CONVEYOR);
+
+		if (!moving || isEmpty()) {
+			prevPosition = position;
+			prevHorizontalPosition = horizontalPosition;
+		} else if (getCachedState().get(ConveyorProperties.FRONT)) {
+			if (conveyor && position < speed) {
+				setPosition(position + 1);
+			} else if (horizontalPosition < speed) {
+				prevPosition = position;
+				setHorizontalPosition(horizontalPosition + 1);
+			} else {
+				prevPosition = position;
+				prevHorizontalPosition = horizontalPosition;
+			}
+		} else if (position < (conveyor ? speed * 2 : speed)) {
+			setPosition(position + 1);
+		} else {
+			prevPosition = position;
+		}
+	}
+
 	public void handleMovementHorizontal(Conveyable conveyable, int speed, boolean transition) {
 		if (conveyable.accepts(getStack())) {
 			if (horizontalPosition < speed) {
 				setHorizontalPosition(getHorizontalPosition() + 1);
 			} else if (transition && horizontalPosition >= speed) {
 				conveyable.give(getStack());
-				if (!world.isClient() || world.isClient && MinecraftClient.getInstance().player.squaredDistanceTo(Vec3d.of(getPos())) > 24 * 24)
-					removeStack();
+				removeStack();
 			}
 		} else if (conveyable instanceof ConveyorConveyable) {
 			ConveyorConveyable conveyor = (ConveyorConveyable) conveyable;
@@ -109,6 +128,18 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		}
 	}
 
+	@Nullable
+	@Override
+	public BlockPos getOutputPos() {
+		if (getCachedState().get(ConveyorProperties.FRONT)) {
+			return getPos().offset(getCachedState().get(HorizontalFacingBlock.FACING).getOpposite());
+		} else if (down) {
+			return getPos().down();
+		}
+
+		return null;
+	}
+
 	@Override
 	public boolean validInputSide(Direction direction) {
 		return direction == Direction.UP || direction == getCachedState().get(HorizontalFacingBlock.FACING);
@@ -119,6 +150,13 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		return getCachedState().get(HorizontalFacingBlock.FACING).getOpposite() == direction || direction == Direction.DOWN;
 	}
 
+	@Override
+	protected void snapTo(int position, int horizontalPosition) {
+		super.snapTo(position, horizontalPosition);
+		this.horizontalPosition = horizontalPosition;
+		this.prevHorizontalPosition = horizontalPosition;
+	}
+
 	@Override
 	public ItemStack removeStack() {
 		horizontalPosition = 0;
@@ -133,10 +171,12 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 
 	@Override
 	public void setDown(boolean down) {
+		if (this.down != down) {
+			invalidateLine();
+		}
+
 		this.down = down;
 		markDirty();
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
 	}
 
 	@Override
@@ -144,16 +184,23 @@ public class DownVerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		return new int[]{ position, prevPosition, horizontalPosition, prevHorizontalPosition };
 	}
 
+	@Override
 	public int getHorizontalPosition() {
 		return horizontalPosition;
 	}
 
+	@Override
+	public int getPreviousHorizontalPosition() {
+		return prevHorizontalPosition;
+	}
+
 	public void setHorizontalPosition(int horizontalPosition) {
 		if (horizontalPosition == 0)
 			this.prevHorizontalPosition = 0;
 		else this.prevHorizontalPosition = this.horizontalPosition;
 
 		this.horizontalPosition = horizontalPosition;
+		notifyWakeListeners();
 	}
 
 	@Override
@@ -39,16 +39,13 @@ import net.minecraft.inventory.Inventory;
 import net.minecraft.inventory.SidedInventory;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
 import net.minecraft.predicate.entity.EntityPredicates;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.state.property.Properties;
 import net.minecraft.util.Tickable;
 import net.minecraft.util.collection.DefaultedList;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
 
 import alexiil.mc.lib.attributes.SearchOptions;
 import alexiil.mc.lib.attributes.Simulation;
@@ -60,6 +57,7 @@ import alexiil.mc.lib.attributes.item.impl.EmptyItemExtractable;
 import alexiil.mc.lib.attributes.item.impl.RejectingItemInsertable;
 import com.github.chainmailstudios.astromine.common.inventory.SingularStackInventory;
 import com.github.chainmailstudios.astromine.transportations.common.block.InserterBlock;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorEvents;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsBlockEntityTypes;
 
 import java.util.List;
@@ -70,6 +68,14 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 	protected int prevPosition = 0;
 	private DefaultedList<ItemStack> stacks = DefaultedList.ofSize(1, ItemStack.EMPTY);
 
+	private static final int MAXIMUM_SLEEP = 20;
+
+	private int idleTicks = 0;
+	private int sleepTicks = 0;
+
+	private Box behindBox = null;
+	private Box aheadBox = null;
+
 	public InserterBlockEntity() {
 		super(AstromineTransportationsBlockEntityTypes.INSERTER);
 	}
@@ -158,8 +164,60 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 		return stackA;
 	}
 
+	/**
+	 * On the server, skips the ticks during which this inserter sleeps; an inserter which found nothing to do sleeps
+	 * for longer every time, up to {@link #MAXIMUM_SLEEP} ticks, unless it is woken up earlier.
+	 */
 	@Override
 	public void tick() {
+		if (world == null)
+			return;
+
+		if (world.isClient()) {
+			tickTransfer();
+			return;
+		}
+
+		if (sleepTicks > 0) {
+			--sleepTicks;
+			return;
+		}
+
+		ItemStack stack = getStack();
+		int position = this.position;
+
+		tickTransfer();
+
+		if (getStack() == stack && this.position == position) {
+			idleTicks = Math.min(idleTicks + 1, MAXIMUM_SLEEP);
+			sleepTicks = idleTicks;
+		} else {
+			idleTicks = 0;
+		}
+	}
+
+	/**
+	 * Makes this inserter tick again right away, after an item arrived, a neighbour changed, or it was powered or
+	 * unpowered.
+	 */
+	public void wake() {
+		idleTicks = 0;
+		sleepTicks = 0;
+	}
+
+	@Override
+	public void resetBlock() {
+		super.resetBlock();
+		behindBox = null;
+		aheadBox = null;
+		wake();
+	}
+
+	private static Box getBox(BlockPos pos) {
+		return new Box(pos.getX(), pos.getY(), pos.getZ(), pos.getX() + 1, pos.getY() + 1, pos.getZ() + 1);
+	}
+
+	public void tickTransfer() {
 		Direction direction = getCachedState().get(HorizontalFacingBlock.FACING);
 		boolean powered = getCachedState().get(Properties.POWERED);
 		int speed = ((InserterBlock) getCachedState().getBlock()).getSpeed();
@@ -182,9 +240,11 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 						setPosition(getPosition() - 1);
 					}
 				} else {
-					BlockPos offsetPos = getPos().offset(direction.getOpposite());
-					List<ChestMinecartEntity> minecartEntities = getWorld().getEntitiesByClass(ChestMinecartEntity.class, new Box(offsetPos.getX(), offsetPos.getY(), offsetPos.getZ(), offsetPos.getX() + 1, offsetPos.getY() + 1, offsetPos.getZ() + 1),
-						EntityPredicates.EXCEPT_SPECTATOR);
+					if (behindBox == null) {
+						behindBox = getBox(getPos().offset(direction.getOpposite()));
+					}
+
+					List<ChestMinecartEntity> minecartEntities = getWorld().getEntitiesByClass(ChestMinecartEntity.class, behindBox, EntityPredicates.EXCEPT_SPECTATOR);
 					if (position == 0 && minecartEntities.size() >= 1) {
 						ChestMinecartEntity minecartEntity = minecartEntities.get(0);
 						FixedInventoryVanillaWrapper wrapper = new FixedInventoryVanillaWrapper(minecartEntity);
@@ -224,9 +284,11 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 						setPosition(getPosition() - 1);
 					}
 				} else {
-					BlockPos offsetPos = getPos().offset(direction);
-					List<ChestMinecartEntity> minecartEntities = getWorld().getEntitiesByClass(ChestMinecartEntity.class, new Box(offsetPos.getX(), offsetPos.getY(), offsetPos.getZ(), offsetPos.getX() + 1, offsetPos.getY() + 1, offsetPos.getZ() + 1),
-						EntityPredicates.EXCEPT_SPECTATOR);
+					if (aheadBox == null) {
+						aheadBox = getBox(getPos().offset(direction));
+					}
+
+					List<ChestMinecartEntity> minecartEntities = getWorld().getEntitiesByClass(ChestMinecartEntity.class, aheadBox, EntityPredicates.EXCEPT_SPECTATOR);
 					if (minecartEntities.size() >= 1) {
 						ChestMinecartEntity minecartEntity = minecartEntities.get(0);
 						if (minecartEntity instanceof Inventory) {
@@ -274,8 +336,9 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 	@Override
 	public void setStack(int slot, ItemStack stack) {
 		SingularStackInventory.super.setStack(slot, stack);
+		wake();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 	}
 
 	@Override
@@ -284,7 +347,7 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 		position = 15;
 		prevPosition = 15;
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 		return stack;
 	}
 
@@ -292,7 +355,7 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 	public void clear() {
 		SingularStackInventory.super.clear();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 	}
 
 	@Override
@@ -315,15 +378,6 @@ public class InserterBlockEntity extends BlockEntity implements SingularStackInv
 		return prevPosition;
 	}
 
-	protected void sendPacket(ServerWorld w, CompoundTag tag) {
-		tag.putString("id", BlockEntityType.getId(getType()).toString());
-		sendPacket(w, new BlockEntityUpdateS2CPacket(getPos(), 127, tag));
-	}
-
-	protected void sendPacket(ServerWorld w, BlockEntityUpdateS2CPacket packet) {
-		w.getPlayers(player -> player.squaredDistanceTo(Vec3d.of(getPos())) < 40 * 40).forEach(player -> player.networkHandler.sendPacket(packet));
-	}
-
 	@Override
 	public void markDirty() {
 		super.markDirty();
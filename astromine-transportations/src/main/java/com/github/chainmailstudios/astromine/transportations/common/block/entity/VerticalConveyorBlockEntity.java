@@ -27,13 +27,10 @@ package com.github.chainmailstudios.astromine.transportations.common.block.entit
 import net.minecraft.block.BlockState;
 import net.minecraft.block.HorizontalFacingBlock;
 import net.minecraft.block.entity.BlockEntityType;
-import net.minecraft.client.MinecraftClient;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
-import net.minecraft.util.math.Vec3d;
 
 import com.github.chainmailstudios.astromine.transportations.common.block.property.ConveyorProperties;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.Conveyable;
@@ -41,6 +38,7 @@ import com.github.chainmailstudios.astromine.transportations.common.conveyor.Con
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorConveyable;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorTypes;
 import com.github.chainmailstudios.astromine.transportations.registry.AstromineTransportationsBlockEntityTypes;
+import org.jetbrains.annotations.Nullable;
 
 public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 	protected boolean up = false;
@@ -56,15 +54,13 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 	}
 
 	@Override
-	public void tick() {
-		Direction direction = getCachedState().get(HorizontalFacingBlock.FACING);
+	public void tickMovement() {
 		int speed = ((Conveyor) getCachedState().getBlock()).getSpeed();
 
 		if (!isEmpty()) {
 			if (getCachedState().get(ConveyorProperties.CONVEYOR)) {
-				BlockPos conveyorPos = getPos().offset(direction).up();
-				if (getWorld().getBlockEntity(conveyorPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(conveyorPos);
+				Conveyable conveyable = getOutputConveyable();
+				if (conveyable != null) {
 					if (position < speed) {
 						handleMovement(conveyable, speed, false);
 					} else {
@@ -73,9 +69,8 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 					}
 				}
 			} else if (up) {
-				BlockPos upPos = getPos().up();
-				if (getWorld().getBlockEntity(upPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(upPos);
+				Conveyable conveyable = getOutputConveyable();
+				if (conveyable != null) {
 					handleMovement(conveyable, speed, true);
 				}
 			} else {
@@ -86,14 +81,28 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		}
 	}
 
+	@Override
+	protected void interpolate() {
+		int speed = ((Conveyor) getCachedState().getBlock()).getSpeed();
+
+		if (moving && !isEmpty() && position < speed) {
+			setPosition(position + 1);
+		} else if (moving && !isEmpty() && getCachedState().get(ConveyorProperties.CONVEYOR) && horizontalPosition < speed) {
+			prevPosition = position;
+			setHorizontalPosition(horizontalPosition + 2);
+		} else {
+			prevPosition = position;
+			prevHorizontalPosition = horizontalPosition;
+		}
+	}
+
 	public void handleMovementHorizontal(Conveyable conveyable, int speed, boolean transition) {
 		if (conveyable.accepts(getStack())) {
 			if (horizontalPosition < speed) {
 				setHorizontalPosition(getHorizontalPosition() + 2);
 			} else if (transition && horizontalPosition >= speed) {
 				conveyable.give(getStack());
-				if (!world.isClient() || world.isClient && MinecraftClient.getInstance().player.squaredDistanceTo(Vec3d.of(getPos())) > 24 * 24)
-					removeStack();
+				removeStack();
 			}
 		} else if (conveyable instanceof ConveyorConveyable) {
 			ConveyorConveyable conveyor = (ConveyorConveyable) conveyable;
@@ -106,6 +115,18 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		}
 	}
 
+	@Nullable
+	@Override
+	public BlockPos getOutputPos() {
+		if (getCachedState().get(ConveyorProperties.CONVEYOR)) {
+			return getPos().offset(getCachedState().get(HorizontalFacingBlock.FACING)).up();
+		} else if (up) {
+			return getPos().up();
+		}
+
+		return null;
+	}
+
 	@Override
 	public boolean validInputSide(Direction direction) {
 		return !getCachedState().get(ConveyorProperties.FRONT) && direction == Direction.DOWN || direction == getCachedState().get(HorizontalFacingBlock.FACING).getOpposite();
@@ -116,6 +137,13 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		return type == ConveyorTypes.NORMAL ? getCachedState().get(HorizontalFacingBlock.FACING) == direction : direction == Direction.UP;
 	}
 
+	@Override
+	protected void snapTo(int position, int horizontalPosition) {
+		super.snapTo(position, horizontalPosition);
+		this.horizontalPosition = horizontalPosition;
+		this.prevHorizontalPosition = horizontalPosition;
+	}
+
 	@Override
 	public ItemStack removeStack() {
 		horizontalPosition = 0;
@@ -128,10 +156,12 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 	}
 
 	public void setUp(boolean up) {
+		if (this.up != up) {
+			invalidateLine();
+		}
+
 		this.up = up;
 		markDirty();
-		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
 	}
 
 	@Override
@@ -139,16 +169,23 @@ public class VerticalConveyorBlockEntity extends ConveyorBlockEntity {
 		return new int[]{ position, prevPosition, horizontalPosition, prevHorizontalPosition };
 	}
 
+	@Override
 	public int getHorizontalPosition() {
 		return horizontalPosition;
 	}
 
+	@Override
+	public int getPreviousHorizontalPosition() {
+		return prevHorizontalPosition;
+	}
+
 	public void setHorizontalPosition(int horizontalPosition) {
 		if (horizontalPosition == 0)
 			this.prevHorizontalPosition = 0;
 		else this.prevHorizontalPosition = this.horizontalPosition;
 
 		this.horizontalPosition = horizontalPosition;
+		notifyWakeListeners();
 	}
 
 	@Override
@@ -33,17 +33,18 @@ import net.minecraft.block.entity.BlockEntityType;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
-import net.minecraft.network.packet.s2c.play.BlockEntityUpdateS2CPacket;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.collection.DefaultedList;
-import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.util.math.Vec3d;
 
 import com.github.chainmailstudios.astromine.common.inventory.DoubleStackInventory;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.Conveyable;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyableLink;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorConveyable;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorEvents;
 import com.github.chainmailstudios.astromine.transportations.common.conveyor.ConveyorTypes;
+import com.github.chainmailstudios.astromine.transportations.common.conveyor.WakeListeners;
+import org.jetbrains.annotations.Nullable;
 
 public class AbstractConveyableBlockEntity extends ComponentBlockEntity implements Conveyable, DoubleStackInventory, RenderAttachmentBlockEntity {
 	int leftPosition = 0;
@@ -55,6 +56,11 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 	boolean right = false;
 	private DefaultedList<ItemStack> stacks = DefaultedList.ofSize(2, ItemStack.EMPTY);
 
+	private final ConveyableLink leftLink = new ConveyableLink();
+	private final ConveyableLink rightLink = new ConveyableLink();
+
+	private final WakeListeners wakeListeners = new WakeListeners();
+
 	public AbstractConveyableBlockEntity(BlockEntityType type) {
 		super(type);
 	}
@@ -64,14 +70,12 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 		if (world == null || !tickRedstone())
 			return;
 
-		Direction direction = getCachedState().get(HorizontalFacingBlock.FACING);
 		int speed = 16;
 
 		if (!getLeftStack().isEmpty()) {
 			if (left) {
-				BlockPos leftPos = getPos().offset(direction.rotateYCounterclockwise());
-				if (getWorld().getBlockEntity(leftPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(leftPos);
+				Conveyable conveyable = getLeftConveyable();
+				if (conveyable != null) {
 					handleLeftMovement(conveyable, speed, true);
 				}
 			} else {
@@ -83,9 +87,8 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 
 		if (!getRightStack().isEmpty()) {
 			if (right) {
-				BlockPos rightPos = getPos().offset(direction.rotateYClockwise());
-				if (getWorld().getBlockEntity(rightPos) instanceof Conveyable) {
-					Conveyable conveyable = (Conveyable) getWorld().getBlockEntity(rightPos);
+				Conveyable conveyable = getRightConveyable();
+				if (conveyable != null) {
 					handleRightMovement(conveyable, speed, true);
 				}
 			} else {
@@ -96,6 +99,38 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 		}
 	}
 
+	@Nullable
+	protected Conveyable getLeftConveyable() {
+		if (!leftLink.isResolved()) {
+			leftLink.resolve(world, getPos().offset(getCachedState().get(HorizontalFacingBlock.FACING).rotateYCounterclockwise()));
+		}
+
+		return leftLink.get();
+	}
+
+	@Nullable
+	protected Conveyable getRightConveyable() {
+		if (!rightLink.isResolved()) {
+			rightLink.resolve(world, getPos().offset(getCachedState().get(HorizontalFacingBlock.FACING).rotateYClockwise()));
+		}
+
+		return rightLink.get();
+	}
+
+	/**
+	 * Forgets the cached conveyables around this block, after a neighbour or its own state changed.
+	 */
+	public void invalidateNeighbors() {
+		leftLink.invalidate();
+		rightLink.invalidate();
+	}
+
+	@Override
+	public void resetBlock() {
+		super.resetBlock();
+		invalidateNeighbors();
+	}
+
 	public void handleLeftMovement(Conveyable conveyable, int speed, boolean transition) {
 		if (conveyable.accepts(getLeftStack())) {
 			if (leftPosition < speed) {
@@ -152,8 +187,9 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 	@Override
 	public void setStack(int slot, ItemStack stack) {
 		DoubleStackInventory.super.setStack(slot, stack);
+		wakeListeners.run();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 	}
 
 	@Override
@@ -163,16 +199,18 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 		rightPosition = 0;
 		prevLeftPosition = 0;
 		prevRightPosition = 0;
+		wakeListeners.run();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 		return stack;
 	}
 
 	@Override
 	public void clear() {
 		DoubleStackInventory.super.clear();
+		wakeListeners.run();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 	}
 
 	public int getLeftPosition() {
@@ -219,14 +257,14 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 		this.left = left;
 		markDirty();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 	}
 
 	public void setRight(boolean right) {
 		this.right = right;
 		markDirty();
 		if (!world.isClient())
-			sendPacket((ServerWorld) world, toTag(new CompoundTag()));
+			ConveyorEvents.sendUpdate(this);
 	}
 
 	@Override
@@ -250,17 +288,13 @@ public class AbstractConveyableBlockEntity extends ComponentBlockEntity implemen
 	}
 
 	@Override
-	public int[] getRenderAttachmentData() {
-		return new int[]{ leftPosition, prevLeftPosition, rightPosition, prevRightPosition };
+	public boolean addWakeListener(Runnable listener) {
+		return wakeListeners.add(listener);
 	}
 
-	protected void sendPacket(ServerWorld w, CompoundTag tag) {
-		tag.putString("id", BlockEntityType.getId(getType()).toString());
-		sendPacket(w, new BlockEntityUpdateS2CPacket(getPos(), 127, tag));
-	}
-
-	protected void sendPacket(ServerWorld w, BlockEntityUpdateS2CPacket packet) {
-		w.getPlayers(player -> player.squaredDistanceTo(Vec3d.of(getPos())) < 40 * 40).forEach(player -> player.networkHandler.sendPacket(packet));
+	@Override
+	public int[] getRenderAttachmentData() {
+		return new int[]{ leftPosition, prevLeftPosition, rightPosition, prevRightPosition };
 	}
 
 	@Override
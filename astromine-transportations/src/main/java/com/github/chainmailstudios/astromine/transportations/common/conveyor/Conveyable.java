@@ -42,6 +42,16 @@ public interface Conveyable {
 	 */
 	void give(ItemStack stack);
 
+	/**
+	 * Asks the interactable to run the given action the next time its contents change, so that a conveyor blocked by
+	 * it can stop ticking until then.
+	 *
+	 * @return Whether or not the action will be run; if not, the caller has to keep checking by itself.
+	 */
+	default boolean addWakeListener(Runnable listener) {
+		return false;
+	}
+
 	boolean hasBeenRemoved();
 
 	void setRemoved(boolean hasBeenRemoved);
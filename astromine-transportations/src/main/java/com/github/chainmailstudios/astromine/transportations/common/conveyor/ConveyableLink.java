@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.chainmailstudios.astromine.transportations.common.conveyor;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+
+/**
+ * A cached reference to the {@link Conveyable} next to a transport block, so that its tick does not look it up in
+ * the world. The reference is weak, and is resolved again once invalidated, or once the block entity it points to
+ * has been removed.
+ */
+public class ConveyableLink {
+	private WeakReference<Conveyable> reference = null;
+
+	private boolean resolved = false;
+
+	/**
+	 * Returns whether this link still holds a valid result, which may be the absence of a conveyable.
+	 */
+	public boolean isResolved() {
+		if (!resolved || reference == null)
+			return resolved;
+
+		Conveyable conveyable = reference.get();
+
+		return conveyable != null && !(conveyable instanceof BlockEntity && ((BlockEntity) conveyable).isRemoved());
+	}
+
+	/**
+	 * Looks up the conveyable at the given position, if any.
+	 */
+	public void resolve(World world, @Nullable BlockPos pos) {
+		BlockEntity blockEntity = pos == null ? null : world.getBlockEntity(pos);
+
+		reference = blockEntity instanceof Conveyable ? new WeakReference<>((Conveyable) blockEntity) : null;
+		resolved = true;
+	}
+
+	@Nullable
+	public Conveyable get() {
+		return reference == null ? null : reference.get();
+	}
+
+	public void invalidate() {
+		reference = null;
+		resolved = false;
+	}
+}
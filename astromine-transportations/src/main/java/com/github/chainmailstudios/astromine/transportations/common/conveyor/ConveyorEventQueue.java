@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.chainmailstudios.astromine.transportations.common.conveyor;
+
+import net.fabricmc.fabric.api.block.entity.BlockEntityClientSerializable;
+import net.fabricmc.fabric.api.network.ServerSidePacketRegistry;
+import net.fabricmc.fabric.api.server.PlayerStream;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.network.Packet;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+
+import com.github.chainmailstudios.astromine.transportations.common.block.entity.ConveyorBlockEntity;
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Gathers the {@link ConveyorEvents} of a tick by chunk, and sends each chunk's events as a single packet to the
+ * players watching that chunk at the end of the tick.
+ *
+ * Full updates of other transport blocks are gathered as well, and only the last one of each block is sent.
+ */
+public final class ConveyorEventQueue {
+	public static final ConveyorEventQueue INSTANCE = new ConveyorEventQueue();
+
+	private final Map<World, Long2ObjectMap<Batch>> batches = new WeakHashMap<>();
+
+	private ConveyorEventQueue() {}
+
+	private Batch getBatch(World world, BlockPos pos) {
+		return batches.computeIfAbsent(world, (key) -> new Long2ObjectOpenHashMap<>()).computeIfAbsent(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4), (key) -> new Batch());
+	}
+
+	/**
+	 * Queues the event of the given type for the given conveyor, written with its current state.
+	 */
+	public void queue(ConveyorBlockEntity conveyor, byte type) {
+		Batch batch = getBatch(conveyor.getWorld(), conveyor.getPos());
+
+		ConveyorEvents.write(batch.events, conveyor, type);
+		++batch.count;
+	}
+
+	/**
+	 * Queues a full update of the given block entity, written with its state at the end of the tick.
+	 */
+	public void queueUpdate(BlockEntity blockEntity) {
+		getBatch(blockEntity.getWorld(), blockEntity.getPos()).updates.put(blockEntity.getPos().asLong(), blockEntity);
+	}
+
+	public void flush(ServerWorld world) {
+		Long2ObjectMap<Batch> worldBatches = batches.get(world);
+
+		if (worldBatches == null || worldBatches.isEmpty())
+			return;
+
+		for (Long2ObjectMap.Entry<Batch> entry : worldBatches.long2ObjectEntrySet()) {
+			List<ServerPlayerEntity> players = PlayerStream.watching(world, new ChunkPos(entry.getLongKey())).collect(Collectors.toList());
+
+			if (players.isEmpty())
+				continue;
+
+			Batch batch = entry.getValue();
+
+			List<BlockEntity> updates = new ArrayList<>(batch.updates.size());
+
+			for (BlockEntity blockEntity : batch.updates.values()) {
+				if (!blockEntity.isRemoved() && blockEntity instanceof BlockEntityClientSerializable) {
+					updates.add(blockEntity);
+				}
+			}
+
+			PacketByteBuf buffer = new PacketByteBuf(Unpooled.buffer());
+
+			buffer.writeVarInt(batch.count + updates.size());
+			buffer.writeBytes(batch.events);
+
+			for (BlockEntity blockEntity : updates) {
+				ConveyorEvents.writeUpdate(buffer, blockEntity);
+			}
+
+			Packet<?> packet = ServerSidePacketRegistry.INSTANCE.toPacket(ConveyorEvents.EVENTS, buffer);
+
+			for (ServerPlayerEntity player : players) {
+				ServerSidePacketRegistry.INSTANCE.sendToPlayer(player, packet);
+			}
+		}
+
+		worldBatches.clear();
+	}
+
+	private static class Batch {
+		private final PacketByteBuf events = new PacketByteBuf(Unpooled.buffer());
+
+		private int count = 0;
+
+		private final Long2ObjectMap<BlockEntity> updates = new Long2ObjectLinkedOpenHashMap<>();
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package com.github.chainmailstudios.astromine.transportations.common.conveyor;
+
+import net.fabricmc.fabric.api.block.entity.BlockEntityClientSerializable;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+import com.github.chainmailstudios.astromine.AstromineCommon;
+import com.github.chainmailstudios.astromine.transportations.common.block.entity.ConveyorBlockEntity;
+
+/**
+ * Compact events through which the server tells clients what its conveyors do, in place of their whole tags.
+ *
+ * An event says that an item entered a conveyor at a given tick, or that the item on it started or stopped moving;
+ * between events, clients move items themselves, at the speed of the conveyor's block. Other transport blocks send
+ * their whole client tag in an update event instead. Every packet holds a list of events, each prefixed by the
+ * position of its block and its type; they are gathered by the {@link ConveyorEventQueue}.
+ */
+public final class ConveyorEvents {
+	public static final Identifier EVENTS = AstromineCommon.identifier("conveyor_events");
+
+	public static final byte ENTERED = 0;
+	public static final byte STATE = 1;
+	public static final byte REMOVED = 2;
+	public static final byte UPDATED = 3;
+
+	private ConveyorEvents() {}
+
+	/**
+	 * Writes the event of the given type for the given conveyor to the given buffer.
+	 */
+	public static void write(PacketByteBuf buffer, ConveyorBlockEntity conveyor, byte type) {
+		buffer.writeLong(conveyor.getPos().asLong());
+		buffer.writeByte(type);
+
+		switch (type) {
+			case ENTERED:
+				buffer.writeItemStack(conveyor.getStack());
+				buffer.writeVarInt(conveyor.getPosition());
+				buffer.writeVarInt(conveyor.getHorizontalPosition());
+				buffer.writeVarLong(conveyor.getWorld().getTime());
+				break;
+			case STATE:
+				buffer.writeVarInt(conveyor.getPosition());
+				buffer.writeVarInt(conveyor.getHorizontalPosition());
+				buffer.writeBoolean(conveyor.isMoving());
+				buffer.writeVarLong(conveyor.getWorld().getTime());
+				break;
+		}
+	}
+
+	/**
+	 * Writes an update event, holding the client tag of the given block entity, to the given buffer.
+	 */
+	public static void writeUpdate(PacketByteBuf buffer, BlockEntity blockEntity) {
+		buffer.writeLong(blockEntity.getPos().asLong());
+		buffer.writeByte(UPDATED);
+		buffer.writeCompoundTag(((BlockEntityClientSerializable) blockEntity).toClientTag(new CompoundTag()));
+	}
+
+	/**
+	 * Queues the event of the given type for the given conveyor, to be sent to the players watching its chunk at the
+	 * end of the tick.
+	 */
+	public static void send(ConveyorBlockEntity conveyor, byte type) {
+		ConveyorEventQueue.INSTANCE.queue(conveyor, type);
+	}
+
+	/**
+	 * Queues an update of the given block entity, to be sent to the players watching its chunk at the end of the
+	 * tick.
+	 */
+	public static void sendUpdate(BlockEntity blockEntity) {
+		ConveyorEventQueue.INSTANCE.queueUpdate(blockEntity);
+	}
+
+	/**
+	 * Reads a list of events from the given buffer and applies them to the block entities of the given world. Events
+	 * for block entities the client does not know about are read and dropped.
+	 */
+	public static void onEvents(World world, PacketByteBuf buffer) {
+		int count = buffer.readVarInt();
+
+		for (int i = 0; i < count; ++i) {
+			BlockPos pos = BlockPos.fromLong(buffer.readLong());
+			byte type = buffer.readByte();
+
+			BlockEntity blockEntity = world.isChunkLoaded(pos) ? world.getBlockEntity(pos) : null;
+			ConveyorBlockEntity conveyor = blockEntity instanceof ConveyorBlockEntity ? (ConveyorBlockEntity) blockEntity : null;
+
+			switch (type) {
+				case ENTERED: {
+					ItemStack stack = buffer.readItemStack();
+					int position = buffer.readVarInt();
+					int horizontalPosition = buffer.readVarInt();
+					long tick = buffer.readVarLong();
+
+					if (conveyor != null) {
+						conveyor.onEntered(stack, position, horizontalPosition, tick);
+					}
+
+					break;
+				}
+				case STATE: {
+					int position = buffer.readVarInt();
+					int horizontalPosition = buffer.readVarInt();
+					boolean moving = buffer.readBoolean();
+					long tick = buffer.readVarLong();
+
+					if (conveyor != null) {
+						conveyor.onStateChanged(position, horizontalPosition, moving, tick);
+					}
+
+					break;
+				}
+				case REMOVED: {
+					if (conveyor != null) {
+						conveyor.onRemoved();
+					}
+
+					break;
+				}
+				case UPDATED: {
+					CompoundTag tag = buffer.readCompoundTag();
+
+					if (blockEntity instanceof BlockEntityClientSerializable) {
+						((BlockEntityClientSerializable) blockEntity).fromClientTag(tag);
+					}
+
+					break;
+				}
+			}
+		}
+	}
+}
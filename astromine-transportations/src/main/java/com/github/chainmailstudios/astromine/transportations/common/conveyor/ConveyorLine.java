@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.transportations.common.conveyor;
+
+import net.minecraft.item.ItemStack;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import com.github.chainmailstudios.astromine.transportations.common.block.entity.ConveyorBlockEntity;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A chain of conveyors, each handing its items to the next, simulated as one unit by the {@link ConveyorLineManager}
+ * instead of by every conveyor's own tick.
+ *
+ * Members are ordered from the tail to the head of the line, and only those holding an item, or still moving one
+ * back to rest, are ticked; from the head down, so that an item leaving a conveyor frees it for the one behind in the
+ * same tick. A member whose item could not move during a tick sleeps until what blocks it changes. A line is
+ * invalidated, and compiled anew by its members, whenever one of its links or chunks changes.
+ */
+public class ConveyorLine {
+	private final World world;
+
+	private final List<ConveyorBlockEntity> members;
+
+	private final List<WorldChunk> chunks = new ArrayList<>();
+
+	private final BitSet occupied = new BitSet();
+
+	private boolean valid = true;
+
+	ConveyorLine(World world, List<ConveyorBlockEntity> members) {
+		this.world = world;
+		this.members = members;
+
+		LongSet chunkPositions = new LongOpenHashSet();
+
+		for (int i = 0; i < members.size(); ++i) {
+			ConveyorBlockEntity member = members.get(i);
+
+			member.setLine(this, i);
+
+			if (!member.isEmpty() || member.getPosition() != 0) {
+				occupied.set(i);
+			}
+
+			if (chunkPositions.add(ChunkPos.toLong(member.getPos().getX() >> 4, member.getPos().getZ() >> 4))) {
+				WorldChunk chunk = world.getWorldChunk(member.getPos());
+
+				chunks.add(chunk);
+				ConveyorLineManager.INSTANCE.track(this, chunk);
+			}
+		}
+	}
+
+	public World getWorld() {
+		return world;
+	}
+
+	public List<ConveyorBlockEntity> getMembers() {
+		return members;
+	}
+
+	public boolean isValid() {
+		return valid;
+	}
+
+	public void invalidate() {
+		if (valid) {
+			valid = false;
+
+			for (WorldChunk chunk : chunks) {
+				ConveyorLineManager.INSTANCE.untrack(this, chunk);
+			}
+		}
+	}
+
+	/**
+	 * Marks the member at the given index as holding an item, so that it is ticked.
+	 */
+	public void wake(int index) {
+		if (valid) {
+			occupied.set(index);
+		}
+	}
+
+	public void tick() {
+		for (int i = occupied.length() - 1; i >= 0 && valid; i = occupied.previousSetBit(i - 1)) {
+			ConveyorBlockEntity member = members.get(i);
+
+			ItemStack stack = member.getStack();
+			int position = member.getPosition();
+			int horizontalPosition = member.getHorizontalPosition();
+
+			member.tickMovement();
+			member.updateMoving();
+
+			if (member.isEmpty() && member.getPosition() == 0) {
+				occupied.clear(i);
+			} else if (member.getStack() == stack && member.getPosition() == position && member.getHorizontalPosition() == horizontalPosition && member.sleep()) {
+				occupied.clear(i);
+			}
+		}
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Chainmail Studios
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.github.chainmailstudios.astromine.transportations.common.conveyor;
+
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+
+import com.github.chainmailstudios.astromine.access.WorldChunkAccess;
+import com.github.chainmailstudios.astromine.transportations.common.block.entity.ConveyorBlockEntity;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Compiles conveyors into {@link ConveyorLine}s and ticks the lines of every world on the server.
+ */
+public final class ConveyorLineManager {
+	public static final ConveyorLineManager INSTANCE = new ConveyorLineManager();
+
+	private final Map<World, List<ConveyorLine>> lines = new WeakHashMap<>();
+
+	private final Map<WorldChunk, Set<ConveyorLine>> chunkLines = new WeakHashMap<>();
+
+	private ConveyorLineManager() {}
+
+	/**
+	 * Builds the line starting at the given conveyor, by following each member's output while it leads into another
+	 * conveyor which does not belong to a line yet. A line leading into the tail of an existing one absorbs it; a
+	 * line leading into the middle of one, or into anything else, ends there.
+	 */
+	public void compile(ConveyorBlockEntity start) {
+		World world = start.getWorld();
+
+		if (world == null || world.isClient || (start.getLine() != null && start.getLine().isValid()))
+			return;
+
+		List<ConveyorBlockEntity> members = new ArrayList<>();
+		Set<ConveyorBlockEntity> visited = new ReferenceOpenHashSet<>();
+
+		ConveyorLine absorbed = null;
+
+		for (ConveyorBlockEntity current = start; current != null && visited.add(current); current = getDownstream(current)) {
+			if (current.getLine() != null && current.getLine().isValid()) {
+				if (current.getLineIndex() == 0) {
+					absorbed = current.getLine();
+				}
+
+				break;
+			}
+
+			members.add(current);
+		}
+
+		if (absorbed != null) {
+			absorbed.invalidate();
+			members.addAll(absorbed.getMembers());
+		}
+
+		lines.computeIfAbsent(world, (key) -> new ArrayList<>()).add(new ConveyorLine(world, members));
+	}
+
+	/**
+	 * Registers a line to be invalidated when the given chunk unloads. Each chunk gets a single unload listener,
+	 * shared by every line which is ever compiled through it.
+	 */
+	void track(ConveyorLine line, WorldChunk chunk) {
+		Set<ConveyorLine> chunkLines = this.chunkLines.get(chunk);
+
+		if (chunkLines == null) {
+			chunkLines = new ReferenceOpenHashSet<>();
+			this.chunkLines.put(chunk, chunkLines);
+
+			((WorldChunkAccess) chunk).astromine_addUnloadListener(() -> {
+				Set<ConveyorLine> unloaded = this.chunkLines.remove(chunk);
+
+				if (unloaded != null) {
+					unloaded.forEach(ConveyorLine::invalidate);
+				}
+			});
+		}
+
+		chunkLines.add(line);
+	}
+
+	void untrack(ConveyorLine line, WorldChunk chunk) {
+		Set<ConveyorLine> chunkLines = this.chunkLines.get(chunk);
+
+		if (chunkLines != null) {
+			chunkLines.remove(line);
+		}
+	}
+
+	private static ConveyorBlockEntity getDownstream(ConveyorBlockEntity conveyor) {
+		BlockPos outputPos = conveyor.getOutputPos();
+
+		if (outputPos == null || !conveyor.getWorld().isChunkLoaded(outputPos))
+			return null;
+
+		BlockEntity blockEntity = conveyor.getWorld().getBlockEntity(outputPos);
+
+		if (blockEntity instanceof ConveyorBlockEntity && !blockEntity.isRemoved() && !((ConveyorBlockEntity) blockEntity).hasBeenRemoved()) {
+			return (ConveyorBlockEntity) blockEntity;
+		}
+
+		return null;
+	}
+
+	public void tick(World world) {
+		List<ConveyorLine> worldLines = lines.get(world);
+
+		if (worldLines == null)
+			return;
+
+		worldLines.removeIf((line) -> !line.isValid());
+
+		for (int i = 0; i < worldLines.size(); ++i) {
+			worldLines.get(i).tick();
+		}
+	}
+}